@@ -5,16 +5,19 @@ val testngVersion = "7.9.0"
 val extentReportsVersion = "5.1.1"
 val poiVersion = "5.2.5"
 val log4jVersion = "2.22.1"
+val disruptorVersion = "3.4.4"
 val mockitoVersion = "5.10.0"
 val mockitoTestngVersion = "0.5.2"
 val commonsIoVersion = "2.15.1"
 val guavaVersion = "33.0.0-jre"
 val sonarVersion = "10.6.0.2114"
+val jmhCoreVersion = "1.37"
 
 plugins {
     id("java")
     id("org.sonarqube") version "4.4.1.3373"
     kotlin("jvm") version "1.8.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.qatoolist"
@@ -24,6 +27,10 @@ repositories {
     mavenCentral()
 }
 
+// Annotation processor writing the compile-time test index (src/processor). It only runs while
+// compiling tests and is not part of the main jar.
+val processor: SourceSet by sourceSets.creating
+
 dependencies {
 
     compileOnly("org.sonarsource.api.plugin:sonar-plugin-api:$sonarVersion")
@@ -45,11 +52,17 @@ dependencies {
     // Logging (Log4j2)
     implementation("org.apache.logging.log4j:log4j-api:$log4jVersion")
     implementation("org.apache.logging.log4j:log4j-core:$log4jVersion")
+    implementation("com.lmax:disruptor:$disruptorVersion") // Async loggers
 
     // Other potential dependencies
     implementation("commons-io:commons-io:$commonsIoVersion")
     implementation("com.google.guava:guava:$guavaVersion")
 
+    // Compile-time test index (RunIf, Retry, DataFile, groups) read by the listeners;
+    // the processor only uses constants of TestIndex, which are inlined when it is compiled
+    "processorCompileOnly"(sourceSets.main.get().output)
+    testAnnotationProcessor(processor.output)
+
     // Mocking (Mockito)
     testImplementation("org.mockito:mockito-core:$mockitoVersion")
     testImplementation("org.mockito:mockito-testng:$mockitoTestngVersion")
@@ -78,4 +91,254 @@ tasks.test {
 
     // Example: Parameterizing your tests for different browsers
     systemProperty("browser", "chrome")
+
+    // Unit tests need no running application; pass -Dhealth.breaker=true to check it anyway
+    systemProperty("health.breaker", System.getProperty("health.breaker") ?: "false")
+}
+
+// Sharded run: ./gradlew shardedTest -Pshards=4 [-Pshard.strategy=duration]
+// Starts one TestNG JVM per shard in parallel; TestMethodInterceptor keeps each shard's share of
+// the methods. Every shard gets its own report, screenshot and log directory under build/shards/<index>.
+tasks.register("shardedTest") {
+    group = "verification"
+    description = "Runs testng.xml split across parallel JVM shards."
+    dependsOn(tasks.testClasses)
+
+    doLast {
+        val shardCount = (findProperty("shards") as String?)?.toInt() ?: Runtime.getRuntime().availableProcessors()
+        val strategy = (findProperty("shard.strategy") as String?) ?: "hash"
+        val classpath = sourceSets.test.get().runtimeClasspath.asPath
+        val javaExecutable = File(System.getProperty("java.home"), "bin/java").absolutePath
+        val forwardedPrefixes = listOf("test.", "run.", "session.", "trace.", "perf.", "health.", "proxy.")
+        val forwarded = System.getProperties().stringPropertyNames()
+            .filter { it == "AUTO_ENV" || it == "browser" || it == "timeout" || forwardedPrefixes.any(it::startsWith) }
+            .filter { !it.startsWith("test.durations.") && it != "run.id" }
+            .map { "-D$it=${System.getProperty(it)}" }
+
+        // All shards checkpoint under one run id, so that the run can be resumed as a whole:
+        // the given run.id, the latest checkpointed run when resuming, or a new one
+        val checkpointDir = file(System.getProperty("run.checkpoint.dir") ?: "build/checkpoints")
+        val latestRunId = {
+            checkpointDir.listFiles { file -> file.name.endsWith(".checkpoint") }
+                ?.maxByOrNull { it.lastModified() }
+                ?.name?.removeSuffix(".checkpoint")?.replaceFirst(Regex("-shard-\\d+$"), "")
+        }
+        val runId = System.getProperty("run.id")?.trim()?.takeIf { it.isNotEmpty() }
+            ?: (if (System.getProperty("run.resume").toBoolean()) latestRunId() else null)
+            ?: java.text.SimpleDateFormat("yyyyMMdd-HHmmss").format(java.util.Date())
+        println("Run id: $runId (resume with -Drun.id=$runId -Drun.resume=true)")
+
+        // Every shard plans from the same snapshot of the recorded durations, read once here; the
+        // shards write this run's durations to their own directories, merged back at the end.
+        val durationsDir = file(System.getProperty("test.durations.dir") ?: "build/test-durations")
+        val durationFiles = { dir: File ->
+            dir.listFiles { file -> file.name.startsWith("durations-") && file.name.endsWith(".properties") }
+                ?.sortedBy { it.name } ?: emptyList()
+        }
+        val durations = java.util.Properties()
+        durationFiles(durationsDir).forEach { file -> file.inputStream().use { durations.load(it) } }
+        val durationsSnapshot = layout.buildDirectory.file("shards/durations.properties").get().asFile
+        durationsSnapshot.parentFile.mkdirs()
+        durationsSnapshot.outputStream().use { durations.store(it, "Test durations in milliseconds, shared by all shards") }
+
+        val shards = (0 until shardCount).map { index ->
+            val shardDir = layout.buildDirectory.dir("shards/$index").get().asFile
+            shardDir.mkdirs()
+            shardDir.resolve("durations").deleteRecursively()
+            val command = listOf(javaExecutable, "-cp", classpath,
+                "-Dshard.index=$index", "-Dshard.count=$shardCount", "-Dshard.strategy=$strategy",
+                "-Dreport.dir=${shardDir.resolve("reports")}",
+                "-Dscreenshot.dir=${shardDir.resolve("screenshots")}",
+                "-DlogDir=${shardDir.resolve("logs")}",
+                "-Dtest.durations.file=$durationsSnapshot",
+                "-Dtest.durations.dir=${shardDir.resolve("durations")}",
+                "-Drun.id=$runId") +
+                forwarded +
+                listOf("org.testng.TestNG", "-d", shardDir.resolve("testng").path, "testng.xml")
+            ProcessBuilder(command)
+                .directory(projectDir)
+                .redirectErrorStream(true)
+                .redirectOutput(shardDir.resolve("shard.log"))
+                .start()
+        }
+
+        val failed = shards.withIndex().filter { it.value.waitFor() != 0 }.map { it.index }
+
+        // Replace the recorded durations with the snapshot updated by this run's durations
+        (0 until shardCount).forEach { index ->
+            durationFiles(layout.buildDirectory.dir("shards/$index/durations").get().asFile)
+                .forEach { file -> file.inputStream().use { durations.load(it) } }
+        }
+        durationsDir.mkdirs()
+        durationFiles(durationsDir).forEach { it.delete() }
+        durationsDir.resolve("durations-all.properties").outputStream().use { durations.store(it, "Test durations in milliseconds") }
+
+        if (failed.isNotEmpty()) {
+            throw GradleException("Shards $failed failed, see build/shards/<index>/shard.log")
+        }
+    }
+}
+
+// Benchmarks of the framework's hot paths (src/jmh/java): ./gradlew jmh [-Pjmh.include=Config]
+// Results go to build/results/jmh/results.json with allocation rates from the GC profiler.
+// Record a baseline on the base branch with jmhBaseline, then run jmh + jmhCompare on the change;
+// both runs must use the same machine for the comparison to mean anything.
+jmh {
+    jmhVersion.set(jmhCoreVersion)
+    (findProperty("jmh.include") as String?)?.let { includes.add(it) }
+    profilers.add("gc")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+}
+
+// Benchmarks and the load run log with the same settings as the tests
+sourceSets["jmh"].resources {
+    srcDir("src/test/resources")
+    include("log4j2.component.properties")
+}
+
+// Sample test classes for TestMethodInterceptorBenchmark: 100 classes of 100 distinct test methods
+// cycling through the group and RunIf combinations, indexed by the test index processor like real tests
+val generateBenchmarkSamples by tasks.registering {
+    val outputDir = layout.buildDirectory.dir("generated/sources/benchmarkSamples/java")
+    outputs.dir(outputDir)
+
+    doLast {
+        val packageDir = outputDir.get().asFile.resolve("com/qatoolist/bluejay/benchmarks/samples")
+        packageDir.deleteRecursively()
+        packageDir.mkdirs()
+        val annotations = listOf(
+            "@Test",
+            "@Test(groups = \"smoke\")",
+            "@Test(groups = {\"regression\", \"slow\"})",
+            "@Test(groups = \"regression\")\n    @RunIf(environment = {\"qa\", \"stage\"})",
+            "@Test(groups = \"smoke\")\n    @RunIf(environment = \"prod\")")
+        for (classIndex in 0 until 100) {
+            val className = String.format("SampleTests%02d", classIndex)
+            val source = StringBuilder()
+                .appendLine("package com.qatoolist.bluejay.benchmarks.samples;")
+                .appendLine()
+                .appendLine("import com.qatoolist.bluejay.core.listeners.interceptor.RunIf;")
+                .appendLine("import org.testng.annotations.Test;")
+                .appendLine()
+                .appendLine("public class $className {")
+            for (methodIndex in 0 until 100) {
+                source.appendLine()
+                    .appendLine("    ${annotations[(classIndex + methodIndex) % annotations.size]}")
+                    .appendLine(String.format("    public void test%02d() {", methodIndex))
+                    .appendLine("    }")
+            }
+            packageDir.resolve("$className.java").writeText(source.appendLine("}").toString())
+        }
+    }
+}
+sourceSets["jmh"].java.srcDir(generateBenchmarkSamples)
+
+dependencies {
+    "jmhAnnotationProcessor"(processor.output)
+}
+
+val jmhResults = layout.buildDirectory.file("results/jmh/results.json")
+val jmhBaseline = file((findProperty("jmh.baseline") as String?) ?: "src/jmh/baseline.json")
+
+tasks.register<Copy>("jmhBaseline") {
+    group = "benchmark"
+    description = "Stores the last JMH results as the baseline for jmhCompare."
+    from(jmhResults)
+    into(jmhBaseline.parentFile)
+    rename { jmhBaseline.name }
+}
+
+// Compares build/results/jmh/results.json against the baseline and writes comparison.txt.
+// -Pjmh.threshold=<percent> (default 10) marks regressions; -Pjmh.failOnRegression=true fails the build.
+tasks.register("jmhCompare") {
+    group = "benchmark"
+    description = "Compares the last JMH results with the baseline."
+
+    doLast {
+        val results = jmhResults.get().asFile
+        if (!results.exists()) {
+            throw GradleException("No JMH results at $results, run ./gradlew jmh first")
+        }
+        if (!jmhBaseline.exists()) {
+            throw GradleException("No JMH baseline at $jmhBaseline: run ./gradlew jmh jmhBaseline on the base branch, " +
+                "on the machine that runs the comparison, or pass -Pjmh.baseline=<results.json>")
+        }
+        val threshold = ((findProperty("jmh.threshold") as String?) ?: "10").toDouble()
+
+        // benchmark(params) -> mode, score, allocated bytes per operation
+        fun load(file: File): Map<String, Triple<String, Double, Double?>> {
+            @Suppress("UNCHECKED_CAST")
+            val runs = groovy.json.JsonSlurper().parse(file) as List<Map<String, Any?>>
+            return runs.associate { run ->
+                @Suppress("UNCHECKED_CAST")
+                val params = (run["params"] as Map<String, Any?>?)
+                    ?.entries?.joinToString(",", "(", ")") { "${it.key}=${it.value}" } ?: ""
+                @Suppress("UNCHECKED_CAST")
+                val primary = run["primaryMetric"] as Map<String, Any?>
+                @Suppress("UNCHECKED_CAST")
+                val secondary = run["secondaryMetrics"] as Map<String, Map<String, Any?>>? ?: emptyMap()
+                val allocation = secondary["gc.alloc.rate.norm"] ?: secondary["\u00b7gc.alloc.rate.norm"]
+                "${run["benchmark"]}$params" to Triple(run["mode"] as String,
+                    (primary["score"] as Number).toDouble(), (allocation?.get("score") as Number?)?.toDouble())
+            }
+        }
+
+        fun change(before: Double, after: Double) = if (before == 0.0) 0.0 else (after - before) * 100 / before
+
+        val baseline = load(jmhBaseline)
+        val current = load(results)
+        val regressions = mutableListOf<String>()
+        val report = StringBuilder()
+        report.appendLine(String.format("%-90s %14s %14s %9s %12s %12s %9s",
+            "Benchmark", "Baseline", "Current", "Time", "Base B/op", "B/op", "Alloc"))
+
+        current.toSortedMap().forEach { (name, run) ->
+            val (mode, score, allocation) = run
+            val base = baseline[name]
+            if (base == null) {
+                report.appendLine(String.format("%-90s %14s %14.3f %9s", name, "-", score, "new"))
+                return@forEach
+            }
+            // Throughput is better when higher, every other mode when lower
+            val timeChange = if (mode == "thrpt") -change(base.second, score) else change(base.second, score)
+            val allocationChange = if (base.third != null && allocation != null && base.third!! >= 1.0) change(base.third!!, allocation) else 0.0
+            val regressed = timeChange > threshold || allocationChange > threshold
+            if (regressed) {
+                regressions.add(name)
+            }
+            report.appendLine(String.format("%-90s %14.3f %14.3f %+8.1f%% %12.0f %12.0f %+8.1f%%%s",
+                name, base.second, score, timeChange, base.third ?: 0.0, allocation ?: 0.0, allocationChange,
+                if (regressed) "  REGRESSION" else ""))
+        }
+
+        val output = layout.buildDirectory.file("results/jmh/comparison.txt").get().asFile
+        output.writeText(report.toString())
+        println(report)
+        println("Comparison written to $output")
+
+        if (regressions.isNotEmpty()) {
+            val message = "${regressions.size} benchmark(s) regressed by more than $threshold%: $regressions"
+            if ((findProperty("jmh.failOnRegression") as String?).toBoolean()) {
+                throw GradleException(message)
+            }
+            logger.warn(message)
+        }
+    }
+}
+
+// Browser-free load run of the whole pipeline: ./gradlew loadTest [-Dload.methods=10000]
+// [-Dload.threads=1,8,32,128,256] [-Dfake.latency.ms=2] [-Dfake.failure.rate=0.01]
+// Reports throughput, framework time per test and lock contention in build/load/report.txt.
+tasks.register<JavaExec>("loadTest") {
+    group = "benchmark"
+    description = "Runs generated suites against the fake driver at several thread counts."
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("com.qatoolist.bluejay.benchmarks.load.LoadHarness")
+    systemProperties(System.getProperties().stringPropertyNames()
+        .filter { it.startsWith("load.") || it.startsWith("fake.") || it == "AUTO_ENV" }
+        .associateWith { System.getProperty(it) })
 }
@@ -0,0 +1,36 @@
+package com.qatoolist.bluejay.benchmarks;
+
+import com.qatoolist.bluejay.core.config.ConfigManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures configuration lookups, which run on every page construction, wait and browser start.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConfigManagerBenchmark {
+
+    @Benchmark
+    public String getProperty() {
+        return ConfigManager.getProperty("app.base_url");
+    }
+
+    @Benchmark
+    public String getOptionalPropertyMissing() {
+        return ConfigManager.getOptionalProperty("benchmark.missing.key", "default");
+    }
+
+    @Benchmark
+    public Properties getBrowserProperties() {
+        return ConfigManager.getBrowserProperties("chrome");
+    }
+}
@@ -0,0 +1,134 @@
+package com.qatoolist.bluejay.benchmarks;
+
+import com.qatoolist.bluejay.core.utils.providers.DataFile;
+import com.qatoolist.bluejay.core.utils.providers.ExcelDataProvider;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Excel data loading on generated workbooks of several sizes. Each row mixes strings,
+ * integers, decimals and booleans, like typical test data sheets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExcelDataProviderBenchmark {
+
+    private static final String DATA_DIR = "build/jmh-data/";
+    private static final int COLUMNS = 8;
+
+    @Param({"10", "1000", "10000"})
+    public int rows;
+
+    private final ExcelDataProvider provider = new ExcelDataProvider();
+    private Method testMethod;
+    private MethodHandle getCellValue;
+    private List<Cell> cells;
+
+    @Setup
+    public void setUp() throws Exception {
+        File file = new File(DATA_DIR + "rows-" + rows + ".xlsx");
+        if (!file.exists()) {
+            writeWorkbook(file, rows);
+        }
+        testMethod = DataFiles.class.getMethod("rows" + rows);
+
+        // getCellValue is private; it is the per-cell cost of fetchData
+        Method method = ExcelDataProvider.class.getDeclaredMethod("getCellValue", Cell.class);
+        method.setAccessible(true);
+        getCellValue = MethodHandles.lookup().unreflect(method)
+                .asType(MethodType.methodType(Object.class, ExcelDataProvider.class, Cell.class));
+
+        try (Workbook workbook = new XSSFWorkbook()) {
+            cells = new ArrayList<>();
+            fill(workbook.createSheet("cells").createRow(0));
+            workbook.getSheetAt(0).forEach(row -> row.forEach(cells::add));
+        }
+    }
+
+    @Benchmark
+    public List<Object[]> fetchData() {
+        return provider.fetchData(testMethod);
+    }
+
+    @Benchmark
+    public void getCellValue(Blackhole blackhole) throws Throwable {
+        for (Cell cell : cells) {
+            blackhole.consume((Object) getCellValue.invokeExact(provider, cell));
+        }
+    }
+
+    private static void writeWorkbook(File file, int rows) throws IOException {
+        file.getParentFile().mkdirs();
+        try (Workbook workbook = new XSSFWorkbook();
+             OutputStream out = new FileOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("data");
+            for (int i = 0; i < rows; i++) {
+                fill(sheet.createRow(i));
+            }
+            workbook.write(out);
+        }
+    }
+
+    private static void fill(Row row) {
+        for (int column = 0; column < COLUMNS; column++) {
+            Cell cell = row.createCell(column);
+            switch (column % 4) {
+                case 0:
+                    cell.setCellValue("user" + column);
+                    break;
+                case 1:
+                    cell.setCellValue(column * 1000);
+                    break;
+                case 2:
+                    cell.setCellValue(column + 0.25);
+                    break;
+                default:
+                    cell.setCellValue(column % 8 == 3);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Annotated holders pointing ExcelDataProvider at the generated workbooks.
+     */
+    public static class DataFiles {
+
+        @DataFile(DATA_DIR + "rows-10.xlsx")
+        public void rows10() {
+        }
+
+        @DataFile(DATA_DIR + "rows-1000.xlsx")
+        public void rows1000() {
+        }
+
+        @DataFile(DATA_DIR + "rows-10000.xlsx")
+        public void rows10000() {
+        }
+    }
+}
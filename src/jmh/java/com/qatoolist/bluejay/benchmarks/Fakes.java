@@ -0,0 +1,68 @@
+package com.qatoolist.bluejay.benchmarks;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Fakes builds lightweight stand-ins for the TestNG and Selenium objects the framework receives,
+ * so benchmarks measure the framework's own code rather than a browser or a TestNG run.
+ */
+final class Fakes {
+
+    private Fakes() {
+    } // Prevent instantiation
+
+    /**
+     * Creates an implementation of an interface answering each method by name from the given map.
+     * Methods missing from the map return null (or the primitive default).
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T proxy(Class<T> type, Map<String, Object> answers) {
+        return (T) Proxy.newProxyInstance(Fakes.class.getClassLoader(), new Class<?>[]{type},
+                (self, method, args) -> answer(self, method.getName(), method.getReturnType(), args, answers));
+    }
+
+    /**
+     * Creates a WebDriver whose screenshots are the given number of random bytes.
+     */
+    static WebDriver screenshotDriver(int screenshotBytes) {
+        byte[] png = new byte[screenshotBytes];
+        new Random(42).nextBytes(png);
+        return (WebDriver) Proxy.newProxyInstance(Fakes.class.getClassLoader(), new Class<?>[]{WebDriver.class, TakesScreenshot.class},
+                (self, method, args) -> {
+                    if ("getScreenshotAs".equals(method.getName())) {
+                        return ((OutputType<?>) args[0]).convertFromPngBytes(png);
+                    }
+                    return answer(self, method.getName(), method.getReturnType(), args, Map.of());
+                });
+    }
+
+    private static Object answer(Object self, String name, Class<?> returnType, Object[] args, Map<String, Object> answers) {
+        switch (name) {
+            case "hashCode":
+                return System.identityHashCode(self);
+            case "equals":
+                return self == args[0];
+            case "toString":
+                return "Fake@" + Integer.toHexString(System.identityHashCode(self));
+            default:
+                break;
+        }
+        Object value = answers.get(name);
+        if (value != null || !returnType.isPrimitive()) {
+            return value;
+        }
+        if (returnType == boolean.class) {
+            return false;
+        }
+        if (returnType == long.class) {
+            return 0L;
+        }
+        return returnType == void.class ? null : 0;
+    }
+}
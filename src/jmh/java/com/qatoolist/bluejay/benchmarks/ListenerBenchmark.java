@@ -0,0 +1,83 @@
+package com.qatoolist.bluejay.benchmarks;
+
+import com.qatoolist.bluejay.core.listeners.TestNGListener;
+import com.qatoolist.bluejay.core.utils.ScreenshotUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+import org.testng.ITestClass;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.annotations.Test;
+import org.testng.internal.ConstructorOrMethod;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-test overhead added by TestNGListener and the cost of a failure screenshot.
+ * Every invocation adds a test to the Extent report or a file to disk, so runs are bounded with
+ * fixed-size batches instead of timed iterations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Dreport.dir=build/jmh-data/reports", "-Dscreenshot.dir=build/jmh-data/screenshots", "-DlogDir=build/jmh-data/logs"})
+public class ListenerBenchmark {
+
+    private static final int SCREENSHOT_BYTES = 256 * 1024;
+
+    private final TestNGListener listener = new TestNGListener();
+    private ITestResult result;
+    private WebDriver driver;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        ITestNGMethod method = Fakes.proxy(ITestNGMethod.class, Map.of(
+                "getMethodName", "sample",
+                "getDescription", "Sample test",
+                "getConstructorOrMethod", new ConstructorOrMethod(SampleTests.class.getMethod("sample"))));
+        ITestClass testClass = Fakes.proxy(ITestClass.class, Map.of(
+                "getName", SampleTests.class.getName(),
+                "getRealClass", SampleTests.class));
+        result = Fakes.proxy(ITestResult.class, Map.of(
+                "getMethod", method,
+                "getTestClass", testClass,
+                "getStartMillis", 1_000L,
+                "getEndMillis", 1_250L));
+        driver = Fakes.screenshotDriver(SCREENSHOT_BYTES);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5, batchSize = 1000)
+    @Measurement(iterations = 10, batchSize = 1000)
+    public void passedTest() {
+        listener.onTestStart(result);
+        listener.onTestSuccess(result);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 3, batchSize = 50)
+    @Measurement(iterations = 10, batchSize = 50)
+    public String captureScreenshot() {
+        return ScreenshotUtils.captureScreenshot(driver);
+    }
+
+    /**
+     * Test class reported by the fake results.
+     */
+    public static class SampleTests {
+
+        @Test
+        public void sample() {
+        }
+    }
+}
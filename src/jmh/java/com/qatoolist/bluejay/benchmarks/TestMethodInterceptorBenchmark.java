@@ -0,0 +1,74 @@
+package com.qatoolist.bluejay.benchmarks;
+
+import com.qatoolist.bluejay.core.listeners.interceptor.TestMethodInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.testng.IMethodInstance;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.internal.ConstructorOrMethod;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures method interception over large suites, with RunIf environments and a tag filter
+ * evaluated for every method. The methods are distinct, taken from the sample classes generated
+ * by the 'generateBenchmarkSamples' task and indexed at compile time, so the TestIndex cache and
+ * index hold as many entries as a suite of that size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Dtest.environment=qa", "-Dtest.tags=smoke|(regression&!slow)"})
+public class TestMethodInterceptorBenchmark {
+
+    private static final String SAMPLE_CLASS = "com.qatoolist.bluejay.benchmarks.samples.SampleTests%02d";
+    private static final int SAMPLE_CLASSES = 100;
+
+    @Param({"100", "1000", "10000"})
+    public int methods;
+
+    private final TestMethodInterceptor interceptor = new TestMethodInterceptor();
+    private List<IMethodInstance> instances;
+    private ITestContext context;
+
+    @Setup
+    public void setUp() throws ClassNotFoundException {
+        instances = new ArrayList<>(methods);
+        for (int classIndex = 0; classIndex < SAMPLE_CLASSES && instances.size() < methods; classIndex++) {
+            Class<?> testClass = Class.forName(String.format(SAMPLE_CLASS, classIndex));
+            Method[] declared = testClass.getDeclaredMethods();
+            Arrays.sort(declared, Comparator.comparing(Method::getName));
+            for (int i = 0; i < declared.length && instances.size() < methods; i++) {
+                Method method = declared[i];
+                ITestNGMethod testMethod = Fakes.proxy(ITestNGMethod.class, Map.of(
+                        "getConstructorOrMethod", new ConstructorOrMethod(method),
+                        "getRealClass", testClass,
+                        "getMethodName", method.getName()));
+                instances.add(Fakes.proxy(IMethodInstance.class, Map.of("getMethod", testMethod)));
+            }
+        }
+        if (instances.size() < methods) {
+            throw new IllegalStateException("Only " + instances.size() + " sample test methods were generated");
+        }
+        context = Fakes.proxy(ITestContext.class, Map.of());
+    }
+
+    @Benchmark
+    public List<IMethodInstance> intercept() {
+        return interceptor.intercept(instances, context);
+    }
+}
@@ -0,0 +1,130 @@
+package com.qatoolist.bluejay.benchmarks.load;
+
+import java.lang.management.LockInfo;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Samples thread states during a load run to find lock contention. Threads blocked on a monitor,
+ * or parked on a ReentrantLock or read-write lock, are counted per lock and per the first stack
+ * frame outside the JDK, which is the framework or library code that wants the lock. Blocked
+ * time and counts per thread come from the JVM's thread contention monitoring.
+ */
+public class ContentionSampler implements Runnable {
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final long intervalMs;
+    private final Map<String, Integer> hotspots = new ConcurrentHashMap<>();
+    private final Map<Long, long[]> blocked = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+    private int samples;
+    private Thread thread;
+
+    private ContentionSampler(long intervalMs) {
+        this.intervalMs = intervalMs;
+    }
+
+    /**
+     * Starts sampling on a daemon thread.
+     *
+     * @param intervalMs The sampling interval
+     * @return The running sampler.
+     */
+    public static ContentionSampler start(long intervalMs) {
+        ContentionSampler sampler = new ContentionSampler(intervalMs);
+        if (sampler.threads.isThreadContentionMonitoringSupported()) {
+            sampler.threads.setThreadContentionMonitoringEnabled(true);
+        }
+        sampler.thread = new Thread(sampler, "contention-sampler");
+        sampler.thread.setDaemon(true);
+        sampler.thread.start();
+        return sampler;
+    }
+
+    /**
+     * Stops sampling and waits for the sampler thread to finish.
+     */
+    public void stop() throws InterruptedException {
+        running = false;
+        thread.join();
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            sample();
+            try {
+                Thread.sleep(intervalMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void sample() {
+        samples++;
+        for (ThreadInfo info : threads.dumpAllThreads(false, false)) {
+            if (info == null) {
+                continue;
+            }
+            // Threads end during the run, so keep their last known totals
+            blocked.put(info.getThreadId(), new long[]{Math.max(0, info.getBlockedTime()), info.getBlockedCount()});
+
+            LockInfo lock = info.getLockInfo();
+            boolean contended = info.getThreadState() == Thread.State.BLOCKED
+                    || (lock != null && info.getThreadState() != Thread.State.RUNNABLE
+                    && (lock.getClassName().contains("ReentrantLock") || lock.getClassName().contains("ReentrantReadWriteLock")));
+            if (contended) {
+                hotspots.merge(lock.getClassName() + " at " + callerFrame(info.getStackTrace()), 1, Integer::sum);
+            }
+        }
+    }
+
+    private static String callerFrame(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            String className = frame.getClassName();
+            if (!className.startsWith("java.") && !className.startsWith("jdk.") && !className.startsWith("sun.")) {
+                return frame.toString();
+            }
+        }
+        return stack.length > 0 ? stack[0].toString() : "unknown";
+    }
+
+    public int getSamples() {
+        return samples;
+    }
+
+    /**
+     * @return The total time threads spent blocked on monitors, in milliseconds (0 if contention monitoring is unsupported).
+     */
+    public long getBlockedMs() {
+        return blocked.values().stream().mapToLong(values -> values[0]).sum();
+    }
+
+    /**
+     * @return The total number of times threads blocked on a monitor.
+     */
+    public long getBlockedCount() {
+        return blocked.values().stream().mapToLong(values -> values[1]).sum();
+    }
+
+    /**
+     * Returns the most contended locks and code locations, by number of samples.
+     *
+     * @param limit The maximum number of entries
+     * @return Sample counts keyed by "lock at frame", highest first.
+     */
+    public Map<String, Integer> getHotspots(int limit) {
+        return new HashMap<>(hotspots).entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(limit)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+}
@@ -0,0 +1,195 @@
+package com.qatoolist.bluejay.benchmarks.load;
+
+import com.qatoolist.bluejay.core.drivers.fake.FakeWebDriver;
+import org.testng.TestNG;
+import org.testng.xml.XmlSuite;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * LoadHarness runs generated suites of {@link SyntheticTest} against {@link FakeWebDriver} at
+ * several thread counts, so the whole pipeline (interceptor, retries, listeners, reporting, data
+ * providers, page objects) is measured without browser time. Each thread count runs in its own
+ * JVM, so report and cache state does not carry over between runs.
+ * <p>
+ * Configured by system properties:
+ * <ul>
+ *     <li>{@code load.methods} - test methods per suite (default 10000)</li>
+ *     <li>{@code load.threads} - comma-separated thread counts (default "1,8,32,128,256")</li>
+ *     <li>{@code load.dir} - output directory (default "build/load")</li>
+ *     <li>{@code fake.*} - latency and failure injection of the fake driver</li>
+ * </ul>
+ * For each run, it reports the throughput, the framework time per test (test body time minus the
+ * injected browser latency), the pipeline time per test (thread time spent outside test bodies:
+ * listeners, interception, configuration methods, scheduling) and monitor contention with its
+ * hottest code locations. The summary is printed and written to {@code <load.dir>/report.txt}.
+ */
+public class LoadHarness {
+
+    private static final String RUN_PROPERTY = "load.run";
+
+    private LoadHarness() {
+    } // Prevent instantiation
+
+    public static void main(String[] args) throws Exception {
+        int methods = Integer.parseInt(System.getProperty("load.methods", "10000"));
+        File dir = new File(System.getProperty("load.dir", "build/load"));
+
+        String run = System.getProperty(RUN_PROPERTY);
+        if (run != null) {
+            runSuite(methods, Integer.parseInt(run), dir);
+            return;
+        }
+
+        List<Properties> results = new ArrayList<>();
+        for (String threads : System.getProperty("load.threads", "1,8,32,128,256").split(",")) {
+            results.add(fork(Integer.parseInt(threads.trim()), dir));
+        }
+        String report = format(methods, results);
+        Files.write(new File(dir, "report.txt").toPath(), report.getBytes(StandardCharsets.UTF_8));
+        System.out.println(report);
+    }
+
+    /**
+     * Runs one thread count in a child JVM with its own report, screenshot and log directories.
+     */
+    private static Properties fork(int threads, File dir) throws IOException, InterruptedException {
+        File runDir = new File(dir, "t" + threads);
+        runDir.mkdirs();
+
+        List<String> command = new ArrayList<>();
+        command.add(new File(System.getProperty("java.home"), "bin/java").getAbsolutePath());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("load.") || name.startsWith("fake.") || name.startsWith("test.") || name.startsWith("wait.")
+                    || name.equals("AUTO_ENV") || name.equals("timeout")) {
+                command.add("-D" + name + "=" + System.getProperty(name));
+            }
+        }
+        command.add("-D" + RUN_PROPERTY + "=" + threads);
+        command.add("-Dbrowser=fake");
+        // The fake driver never reaches the application, so there is no environment to check
+        command.add("-Dhealth.breaker=false");
+        command.add("-Dreport.dir=" + new File(runDir, "reports"));
+        command.add("-Dscreenshot.dir=" + new File(runDir, "screenshots"));
+        command.add("-DlogDir=" + new File(runDir, "logs"));
+        command.add(LoadHarness.class.getName());
+
+        System.out.println("Running " + threads + " thread(s), output in " + new File(runDir, "run.log"));
+        int exitCode = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(new File(runDir, "run.log"))
+                .start()
+                .waitFor();
+
+        Properties result = new Properties();
+        File resultFile = new File(runDir, "result.properties");
+        if (exitCode != 0 || !resultFile.exists()) {
+            result.setProperty("threads", String.valueOf(threads));
+            result.setProperty("error", "exit code " + exitCode + ", see " + new File(runDir, "run.log"));
+            return result;
+        }
+        try (InputStream in = new FileInputStream(resultFile)) {
+            result.load(in);
+        }
+        return result;
+    }
+
+    /**
+     * Runs the generated suite in this JVM and writes its measurements to result.properties.
+     */
+    private static void runSuite(int methods, int threads, File dir) throws Exception {
+        File runDir = new File(dir, "t" + threads);
+        runDir.mkdirs();
+        SyntheticSuiteGenerator.writeDataFile();
+        XmlSuite suite = SyntheticSuiteGenerator.generate(methods, threads);
+        Files.write(new File(runDir, "suite.xml").toPath(), suite.toXml().getBytes(StandardCharsets.UTF_8));
+
+        LoadMetrics metrics = new LoadMetrics();
+        TestNG testng = new TestNG();
+        testng.setUseDefaultListeners(false);
+        testng.setOutputDirectory(new File(runDir, "testng").getPath());
+        testng.setXmlSuites(Collections.singletonList(suite));
+        testng.addListener(metrics);
+
+        ContentionSampler sampler = ContentionSampler.start(50);
+        long start = System.nanoTime();
+        testng.run();
+        long wallMs = (System.nanoTime() - start) / 1_000_000;
+        sampler.stop();
+
+        long tests = Math.max(1, metrics.getTests());
+        double browserMs = FakeWebDriver.getInjectedLatencyNanos() / 1e6;
+        double testMs = (double) metrics.getDurationMs() / tests;
+
+        Properties result = new Properties();
+        result.setProperty("threads", String.valueOf(threads));
+        result.setProperty("tests", String.valueOf(metrics.getTests()));
+        result.setProperty("passed", String.valueOf(metrics.getPassed()));
+        result.setProperty("failed", String.valueOf(metrics.getFailed()));
+        result.setProperty("skipped", String.valueOf(metrics.getSkipped()));
+        result.setProperty("wallMs", String.valueOf(wallMs));
+        result.setProperty("testsPerSecond", String.format("%.1f", tests * 1000.0 / Math.max(1, wallMs)));
+        result.setProperty("testMs", String.format("%.3f", testMs));
+        result.setProperty("frameworkMs", String.format("%.3f", testMs - browserMs / tests));
+        result.setProperty("pipelineMs", String.format("%.3f", ((double) wallMs * threads - metrics.getDurationMs()) / tests));
+        result.setProperty("commands", String.valueOf(FakeWebDriver.getCommandCount()));
+        result.setProperty("injectedFailures", String.valueOf(FakeWebDriver.getFailureCount()));
+        result.setProperty("blockedMs", String.valueOf(sampler.getBlockedMs()));
+        result.setProperty("blockedCount", String.valueOf(sampler.getBlockedCount()));
+        int rank = 0;
+        for (Map.Entry<String, Integer> hotspot : sampler.getHotspots(5).entrySet()) {
+            result.setProperty("hotspot." + rank++, hotspot.getValue() + "/" + sampler.getSamples() + " samples: " + hotspot.getKey());
+        }
+        try (OutputStream out = new FileOutputStream(new File(runDir, "result.properties"))) {
+            result.store(out, "Load run with " + threads + " thread(s)");
+        }
+        // TestNG and reporting threads may linger
+        System.exit(0);
+    }
+
+    private static String format(int methods, List<Properties> results) {
+        StringBuilder report = new StringBuilder();
+        report.append("Synthetic load: ").append(methods).append(" methods, fake latency ")
+                .append(System.getProperty("fake.latency.ms", "0")).append(" ms/command, failure rate ")
+                .append(System.getProperty("fake.failure.rate", "0")).append(System.lineSeparator());
+        report.append(String.format("%8s %8s %8s %8s %10s %10s %12s %12s %12s %12s %12s%n", "Threads", "Tests", "Failed",
+                "Skipped", "Wall ms", "Tests/s", "Test ms", "Framework ms", "Pipeline ms", "Blocked ms", "Blocked"));
+        for (Properties result : results) {
+            if (result.containsKey("error")) {
+                report.append(String.format("%8s  failed: %s%n", result.getProperty("threads"), result.getProperty("error")));
+                continue;
+            }
+            report.append(String.format("%8s %8s %8s %8s %10s %10s %12s %12s %12s %12s %12s%n",
+                    result.getProperty("threads"), result.getProperty("tests"), result.getProperty("failed"),
+                    result.getProperty("skipped"), result.getProperty("wallMs"), result.getProperty("testsPerSecond"),
+                    result.getProperty("testMs"), result.getProperty("frameworkMs"), result.getProperty("pipelineMs"),
+                    result.getProperty("blockedMs"), result.getProperty("blockedCount")));
+        }
+        for (Properties result : results) {
+            List<String> hotspots = new ArrayList<>();
+            for (int rank = 0; result.containsKey("hotspot." + rank); rank++) {
+                hotspots.add(result.getProperty("hotspot." + rank));
+            }
+            if (!hotspots.isEmpty()) {
+                report.append(System.lineSeparator()).append("Contention at ").append(result.getProperty("threads"))
+                        .append(" thread(s):").append(System.lineSeparator());
+                hotspots.forEach(hotspot -> report.append("  ").append(hotspot).append(System.lineSeparator()));
+            }
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,60 @@
+package com.qatoolist.bluejay.benchmarks.load;
+
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts test outcomes and sums test body durations during a load run.
+ */
+public class LoadMetrics implements ITestListener {
+
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder durationMs = new LongAdder();
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        passed.increment();
+        record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        failed.increment();
+        record(result);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        // Includes attempts that were retried
+        skipped.increment();
+        record(result);
+    }
+
+    private void record(ITestResult result) {
+        durationMs.add(Math.max(0, result.getEndMillis() - result.getStartMillis()));
+    }
+
+    public long getPassed() {
+        return passed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    public long getTests() {
+        return getPassed() + getFailed() + getSkipped();
+    }
+
+    public long getDurationMs() {
+        return durationMs.sum();
+    }
+}
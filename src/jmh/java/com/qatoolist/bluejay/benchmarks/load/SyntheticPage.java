@@ -0,0 +1,56 @@
+package com.qatoolist.bluejay.benchmarks.load;
+
+import com.qatoolist.bluejay.core.drivers.fake.FakeWebDriver;
+import com.qatoolist.bluejay.core.pages.BasePage;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+
+/**
+ * A login-form page object exercising element initialization, waits and interactions.
+ */
+public class SyntheticPage extends BasePage {
+
+    @FindBy(id = "username")
+    private WebElement username;
+
+    @FindBy(id = "password")
+    private WebElement password;
+
+    @FindBy(css = "button[type='submit']")
+    private WebElement submit;
+
+    @FindBy(css = ".message")
+    private WebElement message;
+
+    public SyntheticPage(WebDriver driver) {
+        super(driver);
+        this.url = "/synthetic";
+        this.title = FakeWebDriver.TITLE;
+    }
+
+    public String login(String user, String secret) {
+        waitForElementVisible(username);
+        username.clear();
+        username.sendKeys(user);
+        password.clear();
+        password.sendKeys(secret);
+        submit.click();
+        return message.getText();
+    }
+
+    @Override
+    public void navigate() {
+        driver.get(getURL());
+    }
+
+    @Override
+    public void goBack() {
+        driver.navigate().back();
+    }
+
+    @Override
+    public void goForward() {
+        driver.navigate().forward();
+    }
+}
@@ -0,0 +1,95 @@
+package com.qatoolist.bluejay.benchmarks.load;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Generates TestNG suites of {@link SyntheticTest} methods, run in parallel by method.
+ * <p>
+ * Run directly to write suite files that can be started with {@code java org.testng.TestNG}:
+ * {@code SyntheticSuiteGenerator <methods> <threads>[,<threads>...] [output dir]}.
+ */
+public class SyntheticSuiteGenerator {
+
+    private static final int DATA_ROWS = 3;
+
+    private SyntheticSuiteGenerator() {
+    } // Prevent instantiation
+
+    /**
+     * Builds a suite of at least the given number of test methods.
+     *
+     * @param methods The number of test methods
+     * @param threads The number of TestNG worker threads
+     * @return The generated suite.
+     */
+    public static XmlSuite generate(int methods, int threads) {
+        int instances = (methods + SyntheticTest.METHODS_PER_INSTANCE - 1) / SyntheticTest.METHODS_PER_INSTANCE;
+
+        XmlSuite suite = new XmlSuite();
+        suite.setName("synthetic-" + methods + "-t" + threads);
+        suite.setParallel(XmlSuite.ParallelMode.METHODS);
+        suite.setThreadCount(threads);
+        suite.setDataProviderThreadCount(threads);
+
+        XmlTest test = new XmlTest(suite);
+        test.setName("synthetic");
+        test.setParameters(Map.of("load.instances", String.valueOf(instances)));
+        test.setXmlClasses(Collections.singletonList(new XmlClass(SyntheticTest.class)));
+        return suite;
+    }
+
+    /**
+     * Writes the workbook read by the data-driven synthetic test, if missing.
+     *
+     * @throws IOException if the workbook cannot be written.
+     */
+    public static void writeDataFile() throws IOException {
+        File file = new File(SyntheticTest.DATA_FILE);
+        if (file.exists()) {
+            return;
+        }
+        file.getParentFile().mkdirs();
+        try (Workbook workbook = new XSSFWorkbook();
+             OutputStream out = new FileOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("data");
+            for (int i = 0; i < DATA_ROWS; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("user");
+                row.createCell(1).setCellValue(i);
+                row.createCell(2).setCellValue(i % 2 == 0);
+            }
+            workbook.write(out);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SyntheticSuiteGenerator <methods> <threads>[,<threads>...] [output dir]");
+            System.exit(1);
+        }
+        int methods = Integer.parseInt(args[0]);
+        File dir = new File(args.length > 2 ? args[2] : "build/load");
+        dir.mkdirs();
+        writeDataFile();
+        for (String threads : args[1].split(",")) {
+            File file = new File(dir, "suite-" + methods + "-t" + threads.trim() + ".xml");
+            Files.write(file.toPath(), generate(methods, Integer.parseInt(threads.trim())).toXml().getBytes(StandardCharsets.UTF_8));
+            System.out.println("Wrote " + file);
+        }
+    }
+}
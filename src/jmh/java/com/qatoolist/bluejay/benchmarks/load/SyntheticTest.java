@@ -0,0 +1,96 @@
+package com.qatoolist.bluejay.benchmarks.load;
+
+import com.qatoolist.bluejay.core.drivers.WebDriverFactory;
+import com.qatoolist.bluejay.core.listeners.TestNGListener;
+import com.qatoolist.bluejay.core.listeners.interceptor.RunIf;
+import com.qatoolist.bluejay.core.listeners.interceptor.TestMethodInterceptor;
+import com.qatoolist.bluejay.core.listeners.retry.Retry;
+import com.qatoolist.bluejay.core.listeners.retry.RetryTransformer;
+import com.qatoolist.bluejay.core.utils.providers.DataFile;
+import com.qatoolist.bluejay.core.utils.providers.ExcelDataProvider;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Factory;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Parameters;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Synthetic test class run by {@link LoadHarness} against the fake driver. Each instance holds
+ * {@link #METHODS_PER_INSTANCE} test methods covering the framework features a real suite uses:
+ * page objects, Excel data providers, retries, RunIf filtering and groups. The number of
+ * instances comes from the "load.instances" suite parameter.
+ */
+@Listeners({TestNGListener.class, TestMethodInterceptor.class, RetryTransformer.class})
+public class SyntheticTest {
+
+    public static final int METHODS_PER_INSTANCE = 5;
+    public static final String DATA_FILE = "build/load/data.xlsx";
+
+    private final int id;
+    private final AtomicInteger flakyAttempts = new AtomicInteger();
+
+    public SyntheticTest(int id) {
+        this.id = id;
+    }
+
+    @Factory
+    @Parameters("load.instances")
+    public static Object[] create(String instances) {
+        Object[] tests = new Object[Integer.parseInt(instances)];
+        for (int i = 0; i < tests.length; i++) {
+            tests[i] = new SyntheticTest(i);
+        }
+        return tests;
+    }
+
+    @DataProvider(name = "excel")
+    public Object[][] excel(Method method) {
+        return new ExcelDataProvider().fetchData(method).toArray(new Object[0][]);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        WebDriverFactory.quitDriver();
+    }
+
+    @Test(groups = "smoke")
+    public void openPage() {
+        SyntheticPage page = new SyntheticPage(WebDriverFactory.getDriver());
+        page.navigate();
+        page.ensurePageLoaded();
+    }
+
+    @Test(groups = "regression")
+    public void submitForm() {
+        SyntheticPage page = new SyntheticPage(WebDriverFactory.getDriver());
+        page.navigate();
+        Assert.assertNotNull(page.login("user" + id, "secret"));
+    }
+
+    @Test(groups = "regression", dataProvider = "excel")
+    @DataFile(DATA_FILE)
+    public void dataDriven(String user, Integer count, Boolean active) {
+        SyntheticPage page = new SyntheticPage(WebDriverFactory.getDriver());
+        page.navigate();
+        Assert.assertNotNull(page.login(user + count, String.valueOf(active)));
+    }
+
+    @Test(groups = "regression")
+    @Retry(maxRetries = 2, backoffTimeMs = 0)
+    public void flaky() {
+        SyntheticPage page = new SyntheticPage(WebDriverFactory.getDriver());
+        page.navigate();
+        Assert.assertTrue(flakyAttempts.getAndIncrement() > 0, "First attempt of each instance fails");
+    }
+
+    @Test(groups = "smoke")
+    @RunIf(environment = "synthetic-never")
+    public void filteredOut() {
+        Assert.fail("Filtered out by the interceptor");
+    }
+}
@@ -0,0 +1,66 @@
+package com.qatoolist.bluejay.core.auth;
+
+import org.openqa.selenium.Cookie;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * AuthState is an immutable snapshot of an authenticated browser session: its cookies and the
+ * contents of localStorage and sessionStorage on the application's origin.
+ */
+public class AuthState {
+
+    private final Set<Cookie> cookies;
+    private final Map<String, String> localStorage;
+    private final Map<String, String> sessionStorage;
+    private final Instant capturedAt;
+
+    AuthState(Set<Cookie> cookies, Map<String, String> localStorage, Map<String, String> sessionStorage, Instant capturedAt) {
+        this.cookies = Collections.unmodifiableSet(cookies);
+        this.localStorage = Collections.unmodifiableMap(localStorage);
+        this.sessionStorage = Collections.unmodifiableMap(sessionStorage);
+        this.capturedAt = capturedAt;
+    }
+
+    public Set<Cookie> getCookies() {
+        return cookies;
+    }
+
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+
+    public Map<String, String> getSessionStorage() {
+        return sessionStorage;
+    }
+
+    public Instant getCapturedAt() {
+        return capturedAt;
+    }
+
+    /**
+     * Checks whether the snapshot can no longer be used: it is older than the time-to-live,
+     * or one of its cookies has expired.
+     *
+     * @param ttl The maximum age of a snapshot
+     * @param now The current time
+     * @return true if the snapshot expired, false otherwise.
+     */
+    public boolean isExpired(Duration ttl, Instant now) {
+        if (capturedAt.plus(ttl).isBefore(now)) {
+            return true;
+        }
+        Date current = Date.from(now);
+        for (Cookie cookie : cookies) {
+            if (cookie.getExpiry() != null && cookie.getExpiry().before(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
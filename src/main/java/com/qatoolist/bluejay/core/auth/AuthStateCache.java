@@ -0,0 +1,197 @@
+package com.qatoolist.bluejay.core.auth;
+
+import com.qatoolist.bluejay.core.config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AuthStateCache logs each role in once per environment and reuses the resulting session state
+ * (cookies, localStorage, sessionStorage) in every other browser session, so tests start already
+ * authenticated instead of repeating the UI login.
+ *
+ * <p>Roles are registered with a {@link LoginFlow}. When a test asks for a role, a valid snapshot
+ * is injected into its browser on the bootstrap URL ({@code app.base_url} + {@code auth.cache.bootstrap_path},
+ * default "/"), before the page under test is navigated to. Snapshots older than
+ * {@code auth.cache.ttl.minutes} (default 30), holding an expired cookie, or rejected by
+ * {@link LoginFlow#isLoggedIn(WebDriver)} are discarded and the role logs in again. Only one thread
+ * logs in a given role at a time; the others wait for its snapshot.</p>
+ */
+public class AuthStateCache {
+
+    private static final String CAPTURE_SCRIPT =
+            "function dump(s) { var o = {}; for (var i = 0; i < s.length; i++) { var k = s.key(i); o[k] = s.getItem(k); } return o; }"
+                    + "return { local: dump(window.localStorage), session: dump(window.sessionStorage) };";
+
+    private static final String RESTORE_SCRIPT =
+            "function load(s, o) { s.clear(); for (var k in o) { s.setItem(k, o[k]); } }"
+                    + "load(window.localStorage, arguments[0]); load(window.sessionStorage, arguments[1]);";
+
+    private static final Map<String, LoginFlow> flows = new ConcurrentHashMap<>();
+    private static final Map<String, AuthState> states = new ConcurrentHashMap<>();
+    private static final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    private static final Logger logger = LogManager.getLogger(AuthStateCache.class);
+
+    private AuthStateCache() {
+    } // Prevent instantiation
+
+    /**
+     * Registers the login flow of a role. Registering a role again replaces its flow and discards
+     * its cached state.
+     *
+     * @param role The role name, e.g. "admin"
+     * @param flow The UI login of the role
+     */
+    public static void register(String role, LoginFlow flow) {
+        flows.put(role, flow);
+        invalidate(role);
+    }
+
+    /**
+     * Authenticates the given driver as the given role, injecting the cached state or logging in
+     * when there is no valid state yet. The browser is left on the bootstrap URL (or wherever the
+     * login flow ended), ready for the page under test to be navigated to.
+     *
+     * @param driver The WebDriver instance to authenticate
+     * @param role   The registered role name
+     * @throws IllegalStateException if no login flow is registered for the role
+     */
+    public static void authenticate(WebDriver driver, String role) {
+        LoginFlow flow = flows.get(role);
+        if (flow == null) {
+            String error = "No login flow registered for role: " + role;
+            logger.error(error);
+            throw new IllegalStateException(error);
+        }
+        String key = key(role);
+
+        AuthState state = states.get(key);
+        if (state == null || state.isExpired(ttl(), Instant.now())) {
+            ReentrantLock lock = locks.computeIfAbsent(key, k -> new ReentrantLock());
+            lock.lock();
+            try {
+                state = states.get(key);
+                if (state == null || state.isExpired(ttl(), Instant.now())) {
+                    // The driver holding the fresh login needs no injection
+                    login(driver, key, flow);
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        inject(driver, state);
+        if (!flow.isLoggedIn(driver)) {
+            logger.info("Cached state of '" + key + "' was rejected by the application, logging in again");
+            states.remove(key, state);
+            ReentrantLock lock = locks.computeIfAbsent(key, k -> new ReentrantLock());
+            lock.lock();
+            try {
+                AuthState current = states.get(key);
+                if (current != null && current != state) {
+                    // Another thread refreshed the state meanwhile
+                    inject(driver, current);
+                } else {
+                    login(driver, key, flow);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Discards the cached state of a role in the current environment.
+     *
+     * @param role The role name
+     */
+    public static void invalidate(String role) {
+        states.remove(key(role));
+    }
+
+    /**
+     * Discards all cached states.
+     */
+    public static void clear() {
+        states.clear();
+    }
+
+    private static void login(WebDriver driver, String key, LoginFlow flow) {
+        long start = System.currentTimeMillis();
+        clearSession(driver);
+        flow.login(driver);
+        AuthState state = capture(driver);
+        states.put(key, state);
+        logger.info("Logged in '" + key + "' in " + (System.currentTimeMillis() - start) + " ms, cached "
+                + state.getCookies().size() + " cookies and " + (state.getLocalStorage().size() + state.getSessionStorage().size()) + " storage entries");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AuthState capture(WebDriver driver) {
+        Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT);
+        return new AuthState(
+                new HashSet<>(driver.manage().getCookies()),
+                toStringMap((Map<String, Object>) storage.get("local")),
+                toStringMap((Map<String, Object>) storage.get("session")),
+                Instant.now());
+    }
+
+    private static void inject(WebDriver driver, AuthState state) {
+        clearSession(driver);
+        for (Cookie cookie : state.getCookies()) {
+            try {
+                driver.manage().addCookie(cookie);
+            } catch (WebDriverException e) {
+                // Cookies of other domains cannot be set from the bootstrap URL
+                logger.debug("Skipped cookie '" + cookie.getName() + "' of domain " + cookie.getDomain() + ": " + e.getMessage());
+            }
+        }
+        ((JavascriptExecutor) driver).executeScript(RESTORE_SCRIPT, state.getLocalStorage(), state.getSessionStorage());
+    }
+
+    private static void clearSession(WebDriver driver) {
+        // Cookies and storage can only be accessed on the application's origin
+        driver.get(bootstrapUrl());
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript(RESTORE_SCRIPT, Map.of(), Map.of());
+    }
+
+    private static Map<String, String> toStringMap(Map<String, Object> values) {
+        Map<String, String> result = new HashMap<>();
+        if (values != null) {
+            values.forEach((k, v) -> result.put(k, String.valueOf(v)));
+        }
+        return result;
+    }
+
+    private static String key(String role) {
+        return ConfigManager.getEnv() + "/" + role;
+    }
+
+    private static String bootstrapUrl() {
+        String base = ConfigManager.getBaseUrl();
+        String path = ConfigManager.getOptionalProperty("auth.cache.bootstrap_path", "/");
+        if (base.endsWith("/") && path.startsWith("/")) {
+            return base + path.substring(1);
+        }
+        return base.endsWith("/") || path.startsWith("/") ? base + path : base + "/" + path;
+    }
+
+    private static Duration ttl() {
+        int minutes = ConfigManager.hasProperty("auth.cache.ttl.minutes") ? ConfigManager.getIntProperty("auth.cache.ttl.minutes", 30) : 30;
+        return Duration.ofMinutes(minutes);
+    }
+}
@@ -0,0 +1,32 @@
+package com.qatoolist.bluejay.core.auth;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * LoginFlow performs the UI login of one role. It is registered once per role with
+ * {@link AuthStateCache#register(String, LoginFlow)} and only runs when no valid cached
+ * state exists for the role in the current environment.
+ */
+@FunctionalInterface
+public interface LoginFlow {
+
+    /**
+     * Logs in through the UI. When this method returns, the browser must hold the
+     * authenticated session (cookies and web storage) on the application's origin.
+     *
+     * @param driver The WebDriver instance to log in with
+     */
+    void login(WebDriver driver);
+
+    /**
+     * Checks that the injected state is still accepted by the application. Called after a cached
+     * state has been injected, while the browser is on the bootstrap URL (see AuthStateCache).
+     * Implementations may navigate or query the application. Defaults to trusting the cache.
+     *
+     * @param driver The WebDriver instance holding the injected state
+     * @return true if the session is authenticated, false to force a new login.
+     */
+    default boolean isLoggedIn(WebDriver driver) {
+        return true;
+    }
+}
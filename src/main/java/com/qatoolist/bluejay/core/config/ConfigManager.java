@@ -1,6 +1,7 @@
 package com.qatoolist.bluejay.core.config;
 
 import com.qatoolist.bluejay.core.exceptions.ConfigLoadException;
+import com.qatoolist.bluejay.core.listeners.impact.TestImpactRecorder;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -62,6 +63,7 @@ public class ConfigManager {
      * @return The base URL.
      */
     public static String getBaseUrl() {
+        TestImpactRecorder.recordConfigKey("app.base_url");
         return baseURL;
     }
 
@@ -112,6 +114,7 @@ public class ConfigManager {
      * @return Property value if found, otherwise null
      */
     public static String getProperty(String key) {
+        TestImpactRecorder.recordConfigKey(key);
         String envOverride = System.getenv(key.toUpperCase().replace(".", "_"));
         return envOverride != null ? envOverride : properties.getProperty(key);
     }
@@ -136,6 +139,7 @@ public class ConfigManager {
      * @return Property value if found, otherwise the provided defaultValue
      */
     public static String getOptionalProperty(String key, String defaultValue) {
+        TestImpactRecorder.recordConfigKey(key);
         return properties.getProperty(key, defaultValue);
     }
 
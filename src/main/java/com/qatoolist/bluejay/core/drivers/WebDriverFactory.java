@@ -1,7 +1,14 @@
 package com.qatoolist.bluejay.core.drivers;
 
+import com.qatoolist.bluejay.core.auth.AuthStateCache;
 import com.qatoolist.bluejay.core.config.ConfigManager;
+import com.qatoolist.bluejay.core.drivers.fake.FakeWebDriver;
+import com.qatoolist.bluejay.core.drivers.governor.SessionGovernor;
+import com.qatoolist.bluejay.core.drivers.network.NetworkInterception;
+import com.qatoolist.bluejay.core.drivers.proxy.RecordReplayProxy;
+import com.qatoolist.bluejay.core.drivers.tracing.CommandTracer;
 import com.qatoolist.bluejay.core.exceptions.UnsupportedBrowserException;
+import com.qatoolist.bluejay.core.listeners.health.EnvironmentCircuitBreaker;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
@@ -31,59 +38,132 @@ public class WebDriverFactory {
 
     /**
      * Returns a WebDriver instance based on the system property "browser" (default: "chrome").
-     * Supported browsers: chrome, firefox.
+     * Supported browsers: chrome, firefox, edge, safari, and "fake" (an in-memory driver without
+     * a browser, see {@link FakeWebDriver}).
+     *
+     * A new session is first admitted by the {@link EnvironmentCircuitBreaker}, which skips the
+     * test while the application is unhealthy, then by the {@link SessionGovernor}, so this call
+     * may wait while the host is short of memory, CPU or file handles. The returned driver records
+     * the latency of its commands (see {@link CommandTracer}). When 'proxy.mode' is record or replay,
+     * browsers are routed through the {@link RecordReplayProxy}.
      *
      * @return WebDriver instance
      * @throws UnsupportedBrowserException if an invalid or unsupported browser type is specified
+     * @throws com.qatoolist.bluejay.core.exceptions.SessionAdmissionException if no session is admitted in time
+     * @throws org.testng.SkipException if the environment circuit is open
      */
     public static WebDriver getDriver() {
         if (driverPool.get() == null) {
+            EnvironmentCircuitBreaker.checkAdmission();
             String browser = System.getProperty("browser", "chrome").toLowerCase();
             Properties browserProperties = ConfigManager.getBrowserProperties(browser);
 
-            switch (browser) {
-                case "chrome":
-                    WebDriverManager.chromedriver().setup();
-                    // Example of using browserProperties to configure ChromeDriver
-                    ChromeOptions chromeOptions = new ChromeOptions();
-                    browserProperties.forEach((key, value) -> chromeOptions.setExperimentalOption((String) key, value));
-                    driverPool.set(new ChromeDriver(chromeOptions));
-                    break;
-                case "firefox":
-                    WebDriverManager.firefoxdriver().setup();
-                    // Example of using browserProperties to configure FirefoxDriver
-                    FirefoxOptions firefoxOptions = new FirefoxOptions();
-                    browserProperties.forEach((key, value) -> firefoxOptions.addPreference((String) key, value.toString()));
-                    driverPool.set(new FirefoxDriver(firefoxOptions));
-                    break;
-                case "edge":
-                    WebDriverManager.edgedriver().setup();
-                    EdgeOptions edgeOptions = new EdgeOptions();
-                    browserProperties.forEach((key, value) -> edgeOptions.setCapability((String) key, value));
-                    driverPool.set(new EdgeDriver(edgeOptions));
-                    break;
-                case "safari":
-                    // SafariDriver setup is typically simpler as Safari has fewer user-configurable options
-                    SafariOptions safariOptions = new SafariOptions();
-                    // Example: Configuring SafariOptions if needed. Safari doesn't support the same level of customization.
-                    // Note: This example does not directly use browserProperties due to the limited options in Safari.
-                    driverPool.set(new SafariDriver(safariOptions));
-                    break;
-                default:
-                    throw new UnsupportedBrowserException("Browser '" + browser + "' is not supported.");
+            if (!"fake".equals(browser)) {
+                // Waits while the host has no room for another browser (see SessionGovernor)
+                SessionGovernor.acquire();
+            }
+            try {
+                switch (browser) {
+                    case "chrome":
+                        WebDriverManager.chromedriver().setup();
+                        // Example of using browserProperties to configure ChromeDriver
+                        ChromeOptions chromeOptions = new ChromeOptions();
+                        browserProperties.forEach((key, value) -> chromeOptions.setExperimentalOption((String) key, value));
+                        RecordReplayProxy.apply(chromeOptions);
+                        driverPool.set(new ChromeDriver(chromeOptions));
+                        break;
+                    case "firefox":
+                        WebDriverManager.firefoxdriver().setup();
+                        // Example of using browserProperties to configure FirefoxDriver
+                        FirefoxOptions firefoxOptions = new FirefoxOptions();
+                        browserProperties.forEach((key, value) -> firefoxOptions.addPreference((String) key, value.toString()));
+                        RecordReplayProxy.apply(firefoxOptions);
+                        driverPool.set(new FirefoxDriver(firefoxOptions));
+                        break;
+                    case "edge":
+                        WebDriverManager.edgedriver().setup();
+                        EdgeOptions edgeOptions = new EdgeOptions();
+                        browserProperties.forEach((key, value) -> edgeOptions.setCapability((String) key, value));
+                        RecordReplayProxy.apply(edgeOptions);
+                        driverPool.set(new EdgeDriver(edgeOptions));
+                        break;
+                    case "safari":
+                        // SafariDriver setup is typically simpler as Safari has fewer user-configurable options
+                        SafariOptions safariOptions = new SafariOptions();
+                        // Example: Configuring SafariOptions if needed. Safari doesn't support the same level of customization.
+                        // Note: This example does not directly use browserProperties due to the limited options in Safari.
+                        RecordReplayProxy.apply(safariOptions);
+                        driverPool.set(new SafariDriver(safariOptions));
+                        break;
+                    case "fake":
+                        driverPool.set(new FakeWebDriver());
+                        break;
+                    default:
+                        throw new UnsupportedBrowserException("Browser '" + browser + "' is not supported.");
+                }
+                NetworkInterception.attach(driverPool.get());
+            } catch (RuntimeException e) {
+                discardDriver();
+                SessionGovernor.release();
+                throw e;
             }
+            // Decorated last: the decorator hides driver-specific interfaces such as DevTools
+            driverPool.set(CommandTracer.decorate(driverPool.get()));
         }
         return driverPool.get();
     }
 
+    /**
+     * Returns the WebDriver instance of the current thread, authenticated as the given role.
+     * The role's cached session state is injected (or the role logs in once, see {@link AuthStateCache}),
+     * so pages navigated to afterwards open already logged in.
+     *
+     * @param role The role registered with AuthStateCache
+     * @return WebDriver instance
+     * @throws UnsupportedBrowserException if an invalid or unsupported browser type is specified
+     */
+    public static WebDriver getDriver(String role) {
+        WebDriver driver = getDriver();
+        AuthStateCache.authenticate(driver, role);
+        return driver;
+    }
+
+    /**
+     * @return true if the current thread holds a WebDriver instance.
+     */
+    public static boolean hasDriver() {
+        return driverPool.get() != null;
+    }
+
     /**
      * Quits the WebDriver instance associated with the current thread (if any) and
      * removes it from the pool.
      */
     public static void quitDriver() {
         if (driverPool.get() != null) {
-            driverPool.get().quit();
-            driverPool.remove();
+            NetworkInterception.detach();
+            try {
+                driverPool.get().quit();
+            } finally {
+                driverPool.remove();
+                SessionGovernor.release();
+            }
+        }
+    }
+
+    /**
+     * Quits a browser whose setup failed, so that it does not outlive its released permit.
+     */
+    private static void discardDriver() {
+        WebDriver driver = driverPool.get();
+        driverPool.remove();
+        if (driver != null) {
+            try {
+                NetworkInterception.detach();
+                driver.quit();
+            } catch (RuntimeException e) {
+                // The original failure is rethrown by the caller
+            }
         }
     }
 }
@@ -0,0 +1,305 @@
+package com.qatoolist.bluejay.core.drivers.fake;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * FakeWebDriver is an in-memory WebDriver without a browser, returned by WebDriverFactory for
+ * {@code -Dbrowser=fake}. It lets the framework itself (listeners, interceptor, retries, page
+ * objects, reporting) run at scale and be measured apart from browser time.
+ *
+ * <p>Every element lookup succeeds and every element is displayed and enabled. Pages report the
+ * URL last navigated to and the title {@link #TITLE}. Scripts return results of the shape the
+ * framework expects: wait conditions and asynchronous scripts return true, so waits resolve at once;
+ * page readiness checks return "complete"; DomBatch finds no elements and web storage is empty.
+ * Other scripts return null.</p>
+ *
+ * <p>Each command can be slowed down and made to fail, configured by system properties read when
+ * the driver is created:</p>
+ * <ul>
+ *     <li>{@code fake.latency.ms} - latency added to each command, in milliseconds (fractions allowed, default 0)</li>
+ *     <li>{@code fake.latency.jitter.ms} - random extra latency of up to this many milliseconds (default 0)</li>
+ *     <li>{@code fake.failure.rate} - probability (0 to 1) that a command throws a WebDriverException (default 0)</li>
+ * </ul>
+ */
+public class FakeWebDriver implements WebDriver, JavascriptExecutor, TakesScreenshot {
+
+    public static final String TITLE = "Fake Page";
+
+    // 1x1 transparent PNG
+    private static final String SCREENSHOT = "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mNkYAAAAAYAAjCB0C8AAAAASUVORK5CYII=";
+
+    private static final LongAdder commands = new LongAdder();
+    private static final LongAdder failures = new LongAdder();
+    private static final LongAdder latencyNanos = new LongAdder();
+
+    private final long latency = nanos(System.getProperty("fake.latency.ms", "0"));
+    private final long jitter = nanos(System.getProperty("fake.latency.jitter.ms", "0"));
+    private final double failureRate = Double.parseDouble(System.getProperty("fake.failure.rate", "0"));
+
+    private final Map<String, Cookie> cookies = new ConcurrentHashMap<>();
+    private volatile String currentUrl = "about:blank";
+
+    /**
+     * @return The number of commands executed by all fake drivers.
+     */
+    public static long getCommandCount() {
+        return commands.sum();
+    }
+
+    /**
+     * @return The number of injected command failures across all fake drivers.
+     */
+    public static long getFailureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * @return The total latency injected across all fake drivers, in nanoseconds.
+     */
+    public static long getInjectedLatencyNanos() {
+        return latencyNanos.sum();
+    }
+
+    /**
+     * Simulates one browser command: waits for the configured latency, then fails with the
+     * configured probability.
+     *
+     * @param name The command name, used in the failure message
+     */
+    void command(String name) {
+        delay();
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            failures.increment();
+            throw new WebDriverException("Injected failure in fake command: " + name);
+        }
+    }
+
+    private void delay() {
+        commands.increment();
+        long delay = latency + (jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter + 1) : 0);
+        if (delay > 0) {
+            long start = System.nanoTime();
+            LockSupport.parkNanos(delay);
+            latencyNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void get(String url) {
+        command("get");
+        currentUrl = url;
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        command("getCurrentUrl");
+        return currentUrl;
+    }
+
+    @Override
+    public String getTitle() {
+        command("getTitle");
+        return TITLE;
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        command("findElements");
+        return Collections.singletonList(new FakeWebElement(this, by));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        command("findElement");
+        return new FakeWebElement(this, by);
+    }
+
+    @Override
+    public String getPageSource() {
+        command("getPageSource");
+        return "<html><head><title>" + TITLE + "</title></head><body></body></html>";
+    }
+
+    @Override
+    public void close() {
+        command("close");
+    }
+
+    @Override
+    public void quit() {
+        // Never fails, so sessions are always released
+        delay();
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        command("getWindowHandles");
+        return Collections.singleton(getWindowHandle());
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return "fake-" + Integer.toHexString(System.identityHashCode(this));
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        return stub(TargetLocator.class);
+    }
+
+    @Override
+    public Navigation navigate() {
+        return stub(Navigation.class);
+    }
+
+    @Override
+    public Options manage() {
+        return stub(Options.class);
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        command("executeScript");
+        return scriptResult(script, args);
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        command("executeAsyncScript");
+        return Boolean.TRUE;
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        command("getScreenshotAs");
+        return target.convertFromBase64Png(SCREENSHOT);
+    }
+
+    /**
+     * Returns a result of the shape expected by the framework's scripts.
+     */
+    private static Object scriptResult(String script, Object[] args) {
+        if (script.startsWith("return !!(")) {
+            // AdaptiveWait conditions
+            return Boolean.TRUE;
+        }
+        if (script.contains("document.readyState")) {
+            return "complete";
+        }
+        if (args.length > 0 && args[0] instanceof Map && ((Map<?, ?>) args[0]).get("reads") instanceof List) {
+            // DomBatch: no fill target is missing and every read matches no element
+            Map<String, Object> results = new HashMap<>();
+            for (Object read : (List<?>) ((Map<?, ?>) args[0]).get("reads")) {
+                results.put(String.valueOf(((Map<?, ?>) read).get("key")), Collections.emptyList());
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("missing", Collections.emptyList());
+            response.put("results", results);
+            return response;
+        }
+        if (script.contains("window.localStorage") && script.contains("return")) {
+            // AuthStateCache capture
+            Map<String, Object> storage = new HashMap<>();
+            storage.put("local", Collections.emptyMap());
+            storage.put("session", Collections.emptyMap());
+            return storage;
+        }
+        return null;
+    }
+
+    /**
+     * Implements the driver's secondary interfaces (navigation, options, timeouts, window and frame
+     * switching) by method name, so they follow this driver's latency and failure settings.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T stub(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> invoke(proxy, method, args));
+    }
+
+    private Object invoke(Object proxy, Method method, Object[] args) {
+        String name = method.getName();
+        switch (name) {
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "FakeWebDriver." + method.getDeclaringClass().getSimpleName();
+            case "to":
+                get(String.valueOf(args[0]));
+                return null;
+            case "addCookie":
+                command(name);
+                cookies.put(((Cookie) args[0]).getName(), (Cookie) args[0]);
+                return null;
+            case "getCookies":
+                command(name);
+                return new HashSet<>(cookies.values());
+            case "getCookieNamed":
+                command(name);
+                return cookies.get((String) args[0]);
+            case "deleteAllCookies":
+                command(name);
+                cookies.clear();
+                return null;
+            case "deleteCookieNamed":
+                command(name);
+                cookies.remove((String) args[0]);
+                return null;
+            case "deleteCookie":
+                command(name);
+                cookies.remove(((Cookie) args[0]).getName());
+                return null;
+            default:
+                break;
+        }
+
+        Class<?> returnType = method.getReturnType();
+        if (returnType == WebDriver.class) {
+            command(name);
+            return this;
+        }
+        if (returnType == WebElement.class) {
+            command(name);
+            return new FakeWebElement(this, By.tagName("body"));
+        }
+        if (returnType.isInterface() && returnType.getEnclosingClass() == WebDriver.class) {
+            // timeouts(), window() and similar accessors
+            return stub(returnType);
+        }
+        if (method.getDeclaringClass().getEnclosingClass() == WebDriver.class && returnType == method.getDeclaringClass()) {
+            // Fluent setters such as Timeouts.implicitlyWait(Duration)
+            return proxy;
+        }
+        command(name);
+        // Zero values for primitives (false, 0), null otherwise
+        return returnType.isPrimitive() && returnType != void.class ? Array.get(Array.newInstance(returnType, 1), 0) : null;
+    }
+
+    private static long nanos(String milliseconds) {
+        return (long) (Double.parseDouble(milliseconds) * TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
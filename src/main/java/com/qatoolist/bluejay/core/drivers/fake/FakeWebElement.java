@@ -0,0 +1,189 @@
+package com.qatoolist.bluejay.core.drivers.fake;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Coordinates;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * FakeWebElement is an element of a {@link FakeWebDriver} page. It is always displayed and
+ * enabled, keeps the text typed into it as its value, and reports its locator as its text.
+ * Every call is a command of the owning driver, with its latency and failure settings. Like a
+ * RemoteWebElement it is {@link Locatable}, at the top left corner of the page, so page element
+ * proxies can delegate {@link Locatable#getCoordinates()} to it.
+ */
+public class FakeWebElement implements WebElement, Locatable {
+
+    private final FakeWebDriver driver;
+    private final By locator;
+    private volatile String value = "";
+    private volatile boolean selected;
+
+    FakeWebElement(FakeWebDriver driver, By locator) {
+        this.driver = driver;
+        this.locator = locator;
+    }
+
+    @Override
+    public void click() {
+        driver.command("click");
+        selected = !selected;
+    }
+
+    @Override
+    public void submit() {
+        driver.command("submit");
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        driver.command("sendKeys");
+        StringBuilder typed = new StringBuilder(value);
+        for (CharSequence keys : keysToSend) {
+            typed.append(keys);
+        }
+        value = typed.toString();
+    }
+
+    @Override
+    public void clear() {
+        driver.command("clear");
+        value = "";
+    }
+
+    @Override
+    public String getTagName() {
+        driver.command("getTagName");
+        return "div";
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        driver.command("getAttribute");
+        return "value".equals(name) ? value : null;
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        return getAttribute(name);
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        return getAttribute(name);
+    }
+
+    @Override
+    public String getAriaRole() {
+        driver.command("getAriaRole");
+        return "generic";
+    }
+
+    @Override
+    public String getAccessibleName() {
+        driver.command("getAccessibleName");
+        return locator.toString();
+    }
+
+    @Override
+    public boolean isSelected() {
+        driver.command("isSelected");
+        return selected;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        driver.command("isEnabled");
+        return true;
+    }
+
+    @Override
+    public String getText() {
+        driver.command("getText");
+        return locator.toString();
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        driver.command("findElements");
+        return Collections.singletonList(new FakeWebElement(driver, by));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        driver.command("findElement");
+        return new FakeWebElement(driver, by);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        driver.command("isDisplayed");
+        return true;
+    }
+
+    @Override
+    public Point getLocation() {
+        driver.command("getLocation");
+        return new Point(0, 0);
+    }
+
+    @Override
+    public Dimension getSize() {
+        driver.command("getSize");
+        return new Dimension(100, 20);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        driver.command("getRect");
+        return new Rectangle(new Point(0, 0), new Dimension(100, 20));
+    }
+
+    @Override
+    public Coordinates getCoordinates() {
+        return new Coordinates() {
+            @Override
+            public Point onScreen() {
+                return getLocation();
+            }
+
+            @Override
+            public Point inViewPort() {
+                return getLocation();
+            }
+
+            @Override
+            public Point onPage() {
+                return getLocation();
+            }
+
+            @Override
+            public Object getAuxiliary() {
+                return FakeWebElement.this;
+            }
+        };
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        driver.command("getCssValue");
+        return "";
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        return driver.getScreenshotAs(target);
+    }
+
+    @Override
+    public String toString() {
+        return "FakeWebElement[" + locator + "]";
+    }
+}
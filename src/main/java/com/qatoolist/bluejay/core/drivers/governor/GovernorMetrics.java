@@ -0,0 +1,75 @@
+package com.qatoolist.bluejay.core.drivers.governor;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * GovernorMetrics counts the decisions of the {@link SessionGovernor}: admitted sessions and
+ * how long they waited, admission timeouts, and the limit changes driven by host signals.
+ */
+public class GovernorMetrics {
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder waitMs = new LongAdder();
+    private final LongAccumulator maxWaitMs = new LongAccumulator(Math::max, 0);
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder increases = new LongAdder();
+    private final LongAdder decreases = new LongAdder();
+    private final LongAccumulator lowestLimit = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator highestLimit = new LongAccumulator(Math::max, 0);
+
+    void recordAdmission(long waitedMs) {
+        admitted.increment();
+        waitMs.add(waitedMs);
+        maxWaitMs.accumulate(waitedMs);
+    }
+
+    void recordTimeout() {
+        timeouts.increment();
+    }
+
+    void recordLimit(int limit, int previous) {
+        if (limit > previous) {
+            increases.increment();
+        } else if (limit < previous) {
+            decreases.increment();
+        }
+        lowestLimit.accumulate(limit);
+        highestLimit.accumulate(limit);
+    }
+
+    public long getAdmitted() {
+        return admitted.sum();
+    }
+
+    public long getTotalWaitMs() {
+        return waitMs.sum();
+    }
+
+    public long getMaxWaitMs() {
+        return maxWaitMs.get();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    public long getIncreases() {
+        return increases.sum();
+    }
+
+    public long getDecreases() {
+        return decreases.sum();
+    }
+
+    @Override
+    public String toString() {
+        long count = getAdmitted();
+        return "admitted=" + count
+                + ", avgWait=" + (count > 0 ? getTotalWaitMs() / count : 0) + "ms"
+                + ", maxWait=" + getMaxWaitMs() + "ms"
+                + ", timeouts=" + getTimeouts()
+                + ", limit=" + (highestLimit.get() == 0 ? "n/a" : lowestLimit.get() + ".." + highestLimit.get())
+                + " (raised " + getIncreases() + ", lowered " + getDecreases() + ")";
+    }
+}
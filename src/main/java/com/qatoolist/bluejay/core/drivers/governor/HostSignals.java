@@ -0,0 +1,126 @@
+package com.qatoolist.bluejay.core.drivers.governor;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * HostSignals is a snapshot of the host resources that limit how many browsers can run at once:
+ * available memory, system CPU load and the JVM's open file handles.
+ */
+public class HostSignals {
+
+    private static final Path MEMINFO = Paths.get("/proc/meminfo");
+
+    // JDK-specific signals (module jdk.management), looked up so that other JVMs still run
+    private static final Method FREE_MEMORY = platformMethod("com.sun.management.OperatingSystemMXBean", "getFreeMemorySize");
+    private static final Method CPU_LOAD = platformMethod("com.sun.management.OperatingSystemMXBean", "getCpuLoad");
+    private static final Method OPEN_FILES = platformMethod("com.sun.management.UnixOperatingSystemMXBean", "getOpenFileDescriptorCount");
+    private static final Method MAX_FILES = platformMethod("com.sun.management.UnixOperatingSystemMXBean", "getMaxFileDescriptorCount");
+
+    private final long availableMemoryMb;
+    private final double cpuLoad;
+    private final long openFiles;
+    private final long maxFiles;
+
+    HostSignals(long availableMemoryMb, double cpuLoad, long openFiles, long maxFiles) {
+        this.availableMemoryMb = availableMemoryMb;
+        this.cpuLoad = cpuLoad;
+        this.openFiles = openFiles;
+        this.maxFiles = maxFiles;
+    }
+
+    /**
+     * Reads the current host signals. Available memory comes from MemAvailable in /proc/meminfo
+     * on Linux, which counts reclaimable page cache, and from the JVM's free memory elsewhere.
+     * Signals the JVM does not expose are reported as unknown.
+     *
+     * @return The current signals.
+     */
+    public static HostSignals read() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        Number freeMemory = invoke(FREE_MEMORY, os);
+        Number cpu = invoke(CPU_LOAD, os);
+        Number open = invoke(OPEN_FILES, os);
+        Number max = invoke(MAX_FILES, os);
+
+        long availableMemoryMb = freeMemory != null ? freeMemory.longValue() / (1024 * 1024) : -1;
+        double cpuLoad = cpu != null ? cpu.doubleValue() : -1;
+        long openFiles = open != null ? open.longValue() : -1;
+        long maxFiles = max != null ? max.longValue() : -1;
+        long memAvailable = readMemAvailableMb();
+        if (memAvailable >= 0) {
+            availableMemoryMb = memAvailable;
+        }
+        return new HostSignals(availableMemoryMb, cpuLoad, openFiles, maxFiles);
+    }
+
+    private static Method platformMethod(String className, String name) {
+        try {
+            return Class.forName(className).getMethod(name);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static Number invoke(Method method, OperatingSystemMXBean os) {
+        if (method == null || !method.getDeclaringClass().isInstance(os)) {
+            return null;
+        }
+        try {
+            return (Number) method.invoke(os);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static long readMemAvailableMb() {
+        if (!Files.isReadable(MEMINFO)) {
+            return -1;
+        }
+        try {
+            List<String> lines = Files.readAllLines(MEMINFO);
+            for (String line : lines) {
+                if (line.startsWith("MemAvailable:")) {
+                    // e.g. "MemAvailable:    8123456 kB"
+                    return Long.parseLong(line.replaceAll("\\D", "")) / 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            return -1;
+        }
+        return -1;
+    }
+
+    /**
+     * @return The available memory in MB, or -1 if unknown.
+     */
+    public long getAvailableMemoryMb() {
+        return availableMemoryMb;
+    }
+
+    /**
+     * @return The system CPU load between 0 and 1, or a negative value if unknown.
+     */
+    public double getCpuLoad() {
+        return cpuLoad;
+    }
+
+    /**
+     * @return The share of the file handle limit in use by this JVM between 0 and 1, or -1 if unknown.
+     */
+    public double getFileHandleUsage() {
+        return openFiles >= 0 && maxFiles > 0 ? (double) openFiles / maxFiles : -1;
+    }
+
+    @Override
+    public String toString() {
+        return "memory=" + availableMemoryMb + "MB, cpu=" + (cpuLoad < 0 ? "n/a" : Math.round(cpuLoad * 100) + "%")
+                + ", files=" + openFiles + "/" + maxFiles;
+    }
+}
@@ -0,0 +1,238 @@
+package com.qatoolist.bluejay.core.drivers.governor;
+
+import com.qatoolist.bluejay.core.exceptions.SessionAdmissionException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SessionGovernor limits how many browser sessions WebDriverFactory runs at once, based on live
+ * host signals ({@link HostSignals}). Each session holds a permit from the moment its browser is
+ * started until it quits; threads asking for a session beyond the limit wait for a permit.
+ * <p>
+ * The limit starts at the number of sessions the available memory can hold and is re-evaluated
+ * every 'session.governor.interval.ms' (default 1000): it is lowered by a quarter when memory
+ * is short of one session, the CPU load is above 'session.cpu.max' or the share of file handles
+ * in use is above 'session.files.max', and raised by one when threads are waiting and the host
+ * has room for another session. It always stays between 'session.min' and 'session.max'; without
+ * 'session.max', only the host signals bound the limit, so parallel runs keep their thread count
+ * as long as the host has room for it.
+ * <p>
+ * Configured by system properties:
+ * <ul>
+ *     <li>session.governor - false disables the governor (default: true)</li>
+ *     <li>session.min / session.max - limit bounds (default: 1 / unbounded)</li>
+ *     <li>session.memory.mb - memory needed by one browser session (default: 512)</li>
+ *     <li>session.cpu.max - highest CPU load, 0 to 1 (default: 0.9)</li>
+ *     <li>session.files.max - highest share of file handles in use, 0 to 1 (default: 0.85)</li>
+ *     <li>session.acquire.timeout.s - longest wait for a permit (default: 600)</li>
+ * </ul>
+ */
+public class SessionGovernor {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("session.governor", "true"));
+    private static final int MIN = Math.max(1, Integer.getInteger("session.min", 1));
+    private static final int MAX = Math.max(MIN, Integer.getInteger("session.max", Integer.MAX_VALUE));
+    private static final long MEMORY_PER_SESSION_MB = Long.getLong("session.memory.mb", 512);
+    private static final double CPU_MAX = Double.parseDouble(System.getProperty("session.cpu.max", "0.9"));
+    private static final double FILES_MAX = Double.parseDouble(System.getProperty("session.files.max", "0.85"));
+    private static final long INTERVAL_MS = Long.getLong("session.governor.interval.ms", 1000);
+    private static final long TIMEOUT_S = Long.getLong("session.acquire.timeout.s", 600);
+
+    private static final Logger logger = LogManager.getLogger(SessionGovernor.class);
+
+    private static final GovernorMetrics metrics = new GovernorMetrics();
+    private static final ThreadLocal<Boolean> holding = new ThreadLocal<>();
+    private static final ResizableSemaphore permits;
+    private static int limit;
+    private static volatile HostSignals lastSignals;
+    private static ScheduledExecutorService controller;
+
+    static {
+        holding.remove();
+        lastSignals = HostSignals.read();
+        limit = initialLimit(lastSignals);
+        permits = new ResizableSemaphore(limit);
+        metrics.recordLimit(limit, limit);
+    }
+
+    private SessionGovernor() {
+    } // Prevent instantiation
+
+    /**
+     * Waits for a session permit for the current thread. Does nothing if the governor is disabled
+     * or the thread already holds a permit.
+     *
+     * @throws SessionAdmissionException if no permit is available within 'session.acquire.timeout.s'
+     *                                   or the thread is interrupted while waiting.
+     */
+    public static void acquire() {
+        if (!ENABLED || holding.get() != null) {
+            return;
+        }
+        startController();
+        long start = System.currentTimeMillis();
+        try {
+            if (!permits.tryAcquire(TIMEOUT_S, TimeUnit.SECONDS)) {
+                metrics.recordTimeout();
+                String error = "No browser session admitted within " + TIMEOUT_S + "s (limit " + getLimit()
+                        + ", host: " + lastSignals + ")";
+                logger.error(error);
+                throw new SessionAdmissionException(error);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SessionAdmissionException("Interrupted while waiting for a browser session", e);
+        }
+        long waited = System.currentTimeMillis() - start;
+        metrics.recordAdmission(waited);
+        holding.set(Boolean.TRUE);
+        if (waited > INTERVAL_MS) {
+            logger.debug("Browser session admitted after " + waited + " ms");
+        }
+    }
+
+    /**
+     * Returns the current thread's permit, if it holds one.
+     */
+    public static void release() {
+        if (holding.get() != null) {
+            holding.remove();
+            permits.release();
+        }
+    }
+
+    /**
+     * @return The current session limit.
+     */
+    public static synchronized int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return The number of sessions currently holding a permit.
+     */
+    public static synchronized int getActiveSessions() {
+        return limit - permits.availablePermits();
+    }
+
+    /**
+     * @return The number of threads waiting for a session permit.
+     */
+    public static int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * @return The host signals of the last evaluation.
+     */
+    public static HostSignals getLastSignals() {
+        return lastSignals;
+    }
+
+    /**
+     * @return The decision counters of this run.
+     */
+    public static GovernorMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Re-evaluates the limit from the current host signals.
+     */
+    static void adjust() {
+        adjust(HostSignals.read());
+    }
+
+    /**
+     * Re-evaluates the limit from the given host signals.
+     *
+     * @param signals The host signals to evaluate
+     */
+    static synchronized void adjust(HostSignals signals) {
+        lastSignals = signals;
+
+        int previous = limit;
+        limit = nextLimit(limit, MIN, MAX, signals, permits.hasQueuedThreads());
+        if (limit < previous) {
+            permits.reducePermits(previous - limit);
+        } else if (limit > previous) {
+            permits.release(limit - previous);
+        }
+
+        if (limit != previous) {
+            metrics.recordLimit(limit, previous);
+            logger.info("Browser session limit " + (limit > previous ? "raised" : "lowered") + " from " + previous
+                    + " to " + limit + " (" + signals + ", active " + (limit - permits.availablePermits())
+                    + ", waiting " + permits.getQueueLength() + ")");
+        }
+    }
+
+    /**
+     * Computes the limit following the given one: a quarter lower when the host is short of memory,
+     * CPU or file handles, one higher when threads are waiting and the host has memory for two more
+     * sessions, and the same otherwise. The result stays between min and max.
+     *
+     * @param limit          The current limit
+     * @param min            The lowest limit
+     * @param max            The highest limit
+     * @param signals        The host signals
+     * @param threadsWaiting Whether threads are waiting for a permit
+     * @return The new limit.
+     */
+    static int nextLimit(int limit, int min, int max, HostSignals signals, boolean threadsWaiting) {
+        boolean memoryShort = signals.getAvailableMemoryMb() >= 0 && signals.getAvailableMemoryMb() < MEMORY_PER_SESSION_MB;
+        boolean cpuBusy = signals.getCpuLoad() > CPU_MAX;
+        boolean filesShort = signals.getFileHandleUsage() > FILES_MAX;
+
+        if (memoryShort || cpuBusy || filesShort) {
+            return limit > min ? Math.max(min, limit - Math.max(1, limit / 4)) : limit;
+        }
+        if (limit < max && threadsWaiting
+                && (signals.getAvailableMemoryMb() < 0 || signals.getAvailableMemoryMb() >= 2 * MEMORY_PER_SESSION_MB)) {
+            return limit + 1;
+        }
+        return limit;
+    }
+
+    private static int initialLimit(HostSignals signals) {
+        if (signals.getAvailableMemoryMb() < 0) {
+            return MAX;
+        }
+        long fitting = signals.getAvailableMemoryMb() / Math.max(1, MEMORY_PER_SESSION_MB);
+        return (int) Math.max(MIN, Math.min(MAX, fitting));
+    }
+
+    private static synchronized void startController() {
+        if (controller != null) {
+            return;
+        }
+        controller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-governor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        controller.scheduleWithFixedDelay(SessionGovernor::adjust, INTERVAL_MS, INTERVAL_MS, TimeUnit.MILLISECONDS);
+        logger.info("Browser session governor started: limit " + limit + " (" + MIN + ".."
+                + (MAX == Integer.MAX_VALUE ? "unbounded" : MAX) + "), host: " + lastSignals);
+    }
+
+    /**
+     * A semaphore whose number of permits can be lowered while permits are held.
+     */
+    static class ResizableSemaphore extends Semaphore {
+
+        ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
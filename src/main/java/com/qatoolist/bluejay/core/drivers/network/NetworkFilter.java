@@ -0,0 +1,53 @@
+package com.qatoolist.bluejay.core.drivers.network;
+
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+/**
+ * NetworkFilter applies {@link NetworkRules} to every request the browser makes: matching mocks
+ * are answered with their canned response, blocked URLs get an empty 204 response without reaching
+ * the network, and everything else proceeds to the real host.
+ */
+public class NetworkFilter implements Filter {
+
+    private final NetworkRules rules;
+    private final NetworkStats stats;
+
+    /**
+     * Creates a filter applying the given rules and updating the given counters.
+     *
+     * @param rules The URL rules
+     * @param stats The counters of the browser session
+     */
+    public NetworkFilter(NetworkRules rules, NetworkStats stats) {
+        this.rules = rules;
+        this.stats = stats;
+    }
+
+    @Override
+    public HttpHandler apply(HttpHandler next) {
+        return request -> {
+            String url = request.getUri();
+
+            NetworkRules.MockResponse mock = rules.findMock(url);
+            if (mock != null) {
+                stats.recordMocked();
+                return new HttpResponse()
+                        .setStatus(mock.getStatus())
+                        .setHeader("Content-Type", mock.getContentType())
+                        .setHeader("Access-Control-Allow-Origin", "*")
+                        .setContent(Contents.bytes(mock.getBody()));
+            }
+
+            if (rules.isBlocked(url)) {
+                stats.recordBlocked();
+                return new HttpResponse().setStatus(204);
+            }
+
+            stats.recordServed();
+            return next.execute(request);
+        };
+    }
+}
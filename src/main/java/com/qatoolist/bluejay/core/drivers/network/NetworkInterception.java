@@ -0,0 +1,95 @@
+package com.qatoolist.bluejay.core.drivers.network;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+
+/**
+ * NetworkInterception attaches a {@link NetworkFilter} to browser sessions through Chrome DevTools,
+ * so blocked and mocked requests never reach the network. It is active only when block patterns or
+ * mocks are configured (see {@link NetworkRules}) and the driver supports DevTools (Chrome, Edge);
+ * other browsers run without interception. Interceptors are tracked per thread, like the drivers
+ * in WebDriverFactory.
+ */
+public class NetworkInterception {
+
+    private static volatile NetworkRules rules;
+    private static final ThreadLocal<Session> sessions = new ThreadLocal<>();
+
+    private static final Logger logger = LogManager.getLogger(NetworkInterception.class);
+
+    static {
+        sessions.remove();
+    }
+
+    private NetworkInterception() {
+    } // Prevent instantiation
+
+    /**
+     * Starts intercepting the requests of the given driver on the current thread, if rules are configured.
+     *
+     * @param driver The newly created WebDriver instance
+     */
+    public static void attach(WebDriver driver) {
+        NetworkRules rules = rules();
+        if (rules.isEmpty()) {
+            return;
+        }
+        if (!(driver instanceof HasDevTools)) {
+            logger.warn("Network interception is not supported by " + driver.getClass().getSimpleName() + ", requests are not filtered");
+            return;
+        }
+        NetworkStats stats = new NetworkStats();
+        sessions.set(new Session(new NetworkInterceptor(driver, new NetworkFilter(rules, stats)), stats));
+    }
+
+    /**
+     * Returns the request counters of the current thread's browser session.
+     *
+     * @return The NetworkStats of the session, or null if no interception is active.
+     */
+    public static NetworkStats getStats() {
+        Session session = sessions.get();
+        return session != null ? session.stats : null;
+    }
+
+    /**
+     * Stops intercepting the requests of the current thread's browser session, if any.
+     */
+    public static void detach() {
+        Session session = sessions.get();
+        if (session != null) {
+            session.interceptor.close();
+            sessions.remove();
+            logger.debug("Network requests of the session: " + session.stats + " (run total: " + NetworkStats.total() + ")");
+        }
+    }
+
+    /**
+     * Reads the rules from the configuration on first use.
+     */
+    private static NetworkRules rules() {
+        NetworkRules current = rules;
+        if (current == null) {
+            synchronized (NetworkInterception.class) {
+                if (rules == null) {
+                    rules = NetworkRules.fromConfig();
+                }
+                current = rules;
+            }
+        }
+        return current;
+    }
+
+    private static class Session {
+        private final NetworkInterceptor interceptor;
+        private final NetworkStats stats;
+
+        private Session(NetworkInterceptor interceptor, NetworkStats stats) {
+            this.interceptor = interceptor;
+            this.stats = stats;
+        }
+    }
+}
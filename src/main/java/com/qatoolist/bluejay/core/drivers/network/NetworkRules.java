@@ -0,0 +1,195 @@
+package com.qatoolist.bluejay.core.drivers.network;
+
+import com.qatoolist.bluejay.core.config.ConfigManager;
+import com.qatoolist.bluejay.core.exceptions.ConfigLoadException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * NetworkRules holds the URL rules applied by {@link NetworkFilter}, read once from configuration:
+ * * network.block - comma-separated URL glob patterns to block (e.g. "*google-analytics.com*,*.woff2")
+ * * network.allow - comma-separated URL glob patterns that are never blocked, even if they match a block pattern
+ * * network.mocks - comma-separated mock names; for each name:
+ * network.mock.&lt;name&gt;.pattern, .status (default 200), .contentType (default "application/json")
+ * and either .body or .bodyFile
+ * <p>
+ * In glob patterns, '*' matches any sequence of characters and '?' a single character; patterns
+ * are matched against the full request URL.
+ */
+public class NetworkRules {
+
+    private static final Logger logger = LogManager.getLogger(NetworkRules.class);
+
+    private final List<Pattern> blocked;
+    private final List<Pattern> allowed;
+    private final List<MockResponse> mocks;
+
+    NetworkRules(List<Pattern> blocked, List<Pattern> allowed, List<MockResponse> mocks) {
+        this.blocked = Collections.unmodifiableList(blocked);
+        this.allowed = Collections.unmodifiableList(allowed);
+        this.mocks = Collections.unmodifiableList(mocks);
+    }
+
+    /**
+     * Reads the rules from the configuration (see class description). Invalid mocks are logged
+     * and left out, so a configuration mistake does not prevent browser sessions from starting.
+     *
+     * @return The configured NetworkRules.
+     */
+    public static NetworkRules fromConfig() {
+        List<MockResponse> mocks = new ArrayList<>();
+        for (String name : split(ConfigManager.getOptionalProperty("network.mocks", ""))) {
+            String prefix = "network.mock." + name + ".";
+            try {
+                String pattern = ConfigManager.getProperty(prefix + "pattern");
+                if (pattern == null) {
+                    throw new ConfigLoadException("Missing " + prefix + "pattern for network mock: " + name);
+                }
+                mocks.add(new MockResponse(glob(pattern),
+                        ConfigManager.hasProperty(prefix + "status") ? ConfigManager.getIntProperty(prefix + "status", 200) : 200,
+                        ConfigManager.getOptionalProperty(prefix + "contentType", "application/json"),
+                        mockBody(prefix)));
+            } catch (ConfigLoadException e) {
+                String error = "Ignoring invalid network mock '" + name + "': " + e.getMessage();
+                logger.error(error);
+            }
+        }
+        return new NetworkRules(globs(ConfigManager.getOptionalProperty("network.block", "")),
+                globs(ConfigManager.getOptionalProperty("network.allow", "")), mocks);
+    }
+
+    /**
+     * @return true if no block pattern and no mock is configured, false otherwise.
+     */
+    public boolean isEmpty() {
+        return blocked.isEmpty() && mocks.isEmpty();
+    }
+
+    /**
+     * Returns the first mock whose pattern matches the URL.
+     *
+     * @param url The request URL
+     * @return The matching MockResponse, or null if none matches.
+     */
+    public MockResponse findMock(String url) {
+        for (MockResponse mock : mocks) {
+            if (mock.matches(url)) {
+                return mock;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether the URL must be blocked: it matches a block pattern and no allow pattern.
+     *
+     * @param url The request URL
+     * @return true if the request must be blocked, false otherwise.
+     */
+    public boolean isBlocked(String url) {
+        return matchesAny(blocked, url) && !matchesAny(allowed, url);
+    }
+
+    private static boolean matchesAny(List<Pattern> patterns, String url) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] mockBody(String prefix) {
+        String bodyFile = ConfigManager.getProperty(prefix + "bodyFile");
+        if (bodyFile != null) {
+            try {
+                return Files.readAllBytes(Paths.get(bodyFile));
+            } catch (IOException e) {
+                throw new ConfigLoadException("Failed to read network mock body file: " + bodyFile, e);
+            }
+        }
+        return ConfigManager.getOptionalProperty(prefix + "body", "").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> split(String value) {
+        List<String> items = new ArrayList<>();
+        Arrays.stream(value.split(",")).map(String::trim).filter(item -> !item.isEmpty()).forEach(items::add);
+        return items;
+    }
+
+    private static List<Pattern> globs(String value) {
+        List<Pattern> patterns = new ArrayList<>();
+        split(value).forEach(glob -> patterns.add(glob(glob)));
+        return patterns;
+    }
+
+    /**
+     * Compiles a URL glob pattern into a regular expression.
+     *
+     * @param glob The glob pattern ('*' and '?' wildcards)
+     * @return The compiled Pattern.
+     */
+    static Pattern glob(String glob) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            if (c == '*' || c == '?') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * MockResponse is a canned response served instead of the real one for matching URLs.
+     */
+    public static class MockResponse {
+
+        private final Pattern pattern;
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+
+        MockResponse(Pattern pattern, int status, String contentType, byte[] body) {
+            this.pattern = pattern;
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        boolean matches(String url) {
+            return pattern.matcher(url).matches();
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.qatoolist.bluejay.core.drivers.network;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * NetworkStats counts the requests handled by {@link NetworkFilter}: blocked, answered with a
+ * mock, or served by the real host. One instance is kept per browser session and one for the
+ * whole run ({@link #total()}).
+ */
+public class NetworkStats {
+
+    private static final NetworkStats TOTAL = new NetworkStats();
+
+    private final LongAdder blocked = new LongAdder();
+    private final LongAdder mocked = new LongAdder();
+    private final LongAdder served = new LongAdder();
+
+    /**
+     * @return The counters aggregated over all browser sessions of this run.
+     */
+    public static NetworkStats total() {
+        return TOTAL;
+    }
+
+    void recordBlocked() {
+        blocked.increment();
+        if (this != TOTAL) {
+            TOTAL.recordBlocked();
+        }
+    }
+
+    void recordMocked() {
+        mocked.increment();
+        if (this != TOTAL) {
+            TOTAL.recordMocked();
+        }
+    }
+
+    void recordServed() {
+        served.increment();
+        if (this != TOTAL) {
+            TOTAL.recordServed();
+        }
+    }
+
+    public long getBlocked() {
+        return blocked.sum();
+    }
+
+    public long getMocked() {
+        return mocked.sum();
+    }
+
+    public long getServed() {
+        return served.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "blocked=" + getBlocked() + ", mocked=" + getMocked() + ", served=" + getServed();
+    }
+}
@@ -0,0 +1,197 @@
+package com.qatoolist.bluejay.core.drivers.proxy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CassetteStore keeps recorded responses on disk in a cassette directory:
+ * * responses.bin - the responses, appended one after another (status, headers, body)
+ * * index.tsv - one line per recording: offset and length in responses.bin, then the request key
+ * <p>
+ * Both files are append-only; when a key was recorded more than once, the last recording wins.
+ * For replay, the responses file is memory-mapped once and responses are served from it without
+ * copying their bodies.
+ */
+public class CassetteStore implements AutoCloseable {
+
+    private static final String RESPONSES = "responses.bin";
+    private static final String INDEX = "index.tsv";
+
+    private static final Logger logger = LogManager.getLogger(CassetteStore.class);
+
+    private final Path directory;
+    private final Map<String, long[]> index = new ConcurrentHashMap<>();
+    private MappedByteBuffer mapped;
+    private FileChannel responses;
+    private BufferedWriter indexWriter;
+
+    private CassetteStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Opens a cassette for replay: loads its index and maps its responses into memory.
+     *
+     * @param directory The cassette directory
+     * @return The cassette; empty if the directory holds no recordings.
+     * @throws IOException if the cassette cannot be read.
+     */
+    public static CassetteStore openForReplay(Path directory) throws IOException {
+        CassetteStore store = new CassetteStore(directory);
+        Path responsesFile = directory.resolve(RESPONSES);
+        if (!Files.isRegularFile(responsesFile) || !Files.isRegularFile(directory.resolve(INDEX))) {
+            logger.warn("No cassette found in " + directory + ", every request will miss");
+            return store;
+        }
+        store.loadIndex();
+        try (FileChannel channel = FileChannel.open(responsesFile, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Cassette " + responsesFile + " exceeds 2 GB");
+            }
+            // The mapping stays valid after the channel is closed
+            store.mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        logger.info("Replaying " + store.index.size() + " recorded responses from " + directory);
+        return store;
+    }
+
+    /**
+     * Opens a cassette for recording; new recordings are appended to the existing ones.
+     *
+     * @param directory The cassette directory, created if missing
+     * @return The cassette.
+     * @throws IOException if the cassette cannot be opened.
+     */
+    public static CassetteStore openForRecord(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        CassetteStore store = new CassetteStore(directory);
+        store.responses = FileChannel.open(directory.resolve(RESPONSES),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        store.indexWriter = Files.newBufferedWriter(directory.resolve(INDEX), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        logger.info("Recording responses to " + directory);
+        return store;
+    }
+
+    /**
+     * Returns the recorded response of a request key, from a cassette opened for replay.
+     *
+     * @param key The request key (see {@link MatchRules#key})
+     * @return The response, or null if the key was never recorded.
+     */
+    public RecordedResponse get(String key) {
+        long[] location = index.get(key);
+        if (location == null || mapped == null || location[0] + location[1] > mapped.capacity()) {
+            return null;
+        }
+        return decode(mapped.slice((int) location[0], (int) location[1]));
+    }
+
+    /**
+     * Appends a response to the cassette.
+     *
+     * @param key     The request key (see {@link MatchRules#key})
+     * @param status  The response status
+     * @param headers The response headers as name/value pairs
+     * @param body    The response body
+     * @throws IOException if the cassette cannot be written.
+     */
+    public synchronized void put(String key, int status, List<String[]> headers, byte[] body) throws IOException {
+        ByteBuffer record = encode(status, headers, body);
+        long offset = responses.size();
+        int length = record.remaining();
+        while (record.hasRemaining()) {
+            responses.write(record);
+        }
+        indexWriter.write(offset + "\t" + length + "\t" + key);
+        indexWriter.newLine();
+        indexWriter.flush();
+        index.put(key, new long[]{offset, length});
+    }
+
+    /**
+     * @return The number of distinct request keys in the cassette.
+     */
+    public int size() {
+        return index.size();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (indexWriter != null) {
+            indexWriter.close();
+        }
+        if (responses != null) {
+            responses.close();
+        }
+    }
+
+    private void loadIndex() throws IOException {
+        for (String line : Files.readAllLines(directory.resolve(INDEX), StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\t", 3);
+            if (fields.length < 3) {
+                continue; // Cut short while recording
+            }
+            try {
+                index.put(fields[2], new long[]{Long.parseLong(fields[0]), Long.parseLong(fields[1])});
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid cassette index line in " + directory + ": " + line);
+            }
+        }
+    }
+
+    private static ByteBuffer encode(int status, List<String[]> headers, byte[] body) {
+        List<byte[]> fields = new ArrayList<>();
+        int size = 4 + 4 + 4 + body.length;
+        for (String[] header : headers) {
+            for (String field : header) {
+                byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+                fields.add(bytes);
+                size += 4 + bytes.length;
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(status).putInt(headers.size());
+        for (byte[] field : fields) {
+            buffer.putInt(field.length).put(field);
+        }
+        buffer.putInt(body.length).put(body);
+        return buffer.flip();
+    }
+
+    private static RecordedResponse decode(ByteBuffer record) {
+        int status = record.getInt();
+        int headerCount = record.getInt();
+        List<String[]> headers = new ArrayList<>(headerCount);
+        for (int i = 0; i < headerCount; i++) {
+            headers.add(new String[]{readString(record), readString(record)});
+        }
+        int bodyLength = record.getInt();
+        ByteBuffer body = record.slice(record.position(), bodyLength);
+        return new RecordedResponse(status, headers, body);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
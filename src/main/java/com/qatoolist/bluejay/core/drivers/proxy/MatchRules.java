@@ -0,0 +1,108 @@
+package com.qatoolist.bluejay.core.drivers.proxy;
+
+import com.qatoolist.bluejay.core.config.ConfigManager;
+
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * MatchRules decide which recorded response answers a request, by reducing each request to a
+ * cassette key. Query parameters are compared regardless of their order. Read once from configuration:
+ * * proxy.match.ignoreParams - comma-separated query parameters left out of the key (e.g. "_,cacheBuster")
+ * * proxy.match.ignoreHost - true matches on path and query only, so a cassette recorded against one
+ * environment replays for another (default: false)
+ * * proxy.match.body - false leaves request bodies out of the key (default: true)
+ * * proxy.match.headers - comma-separated request headers added to the key (e.g. "Accept,X-Tenant")
+ */
+public class MatchRules {
+
+    private final Set<String> ignoredParams;
+    private final boolean ignoreHost;
+    private final boolean matchBody;
+    private final List<String> headers;
+
+    MatchRules(Set<String> ignoredParams, boolean ignoreHost, boolean matchBody, List<String> headers) {
+        this.ignoredParams = Collections.unmodifiableSet(ignoredParams);
+        this.ignoreHost = ignoreHost;
+        this.matchBody = matchBody;
+        this.headers = Collections.unmodifiableList(headers);
+    }
+
+    /**
+     * Reads the rules from the configuration (see class description).
+     *
+     * @return The configured MatchRules.
+     */
+    public static MatchRules fromConfig() {
+        return new MatchRules(
+                split(ConfigManager.getOptionalProperty("proxy.match.ignoreParams", "")).stream().collect(Collectors.toSet()),
+                Boolean.parseBoolean(ConfigManager.getOptionalProperty("proxy.match.ignoreHost", "false")),
+                Boolean.parseBoolean(ConfigManager.getOptionalProperty("proxy.match.body", "true")),
+                split(ConfigManager.getOptionalProperty("proxy.match.headers", "")).stream()
+                        .map(header -> header.toLowerCase(Locale.ROOT)).collect(Collectors.toList()));
+    }
+
+    /**
+     * Builds the cassette key of a request.
+     *
+     * @param method  The request method
+     * @param uri     The absolute request URI
+     * @param headers The request headers, keyed by lower-case name
+     * @param body    The request body (may be empty)
+     * @return The key; requests with equal keys are answered by the same recording.
+     */
+    public String key(String method, URI uri, Map<String, String> headers, byte[] body) {
+        StringBuilder key = new StringBuilder(method.toUpperCase(Locale.ROOT)).append(' ');
+        if (!ignoreHost) {
+            key.append(uri.getScheme()).append("://").append(uri.getRawAuthority());
+        }
+        key.append(uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath());
+
+        String query = uri.getRawQuery();
+        if (query != null && !query.isEmpty()) {
+            List<String> params = new ArrayList<>();
+            for (String param : query.split("&")) {
+                int equals = param.indexOf('=');
+                if (!ignoredParams.contains(equals < 0 ? param : param.substring(0, equals))) {
+                    params.add(param);
+                }
+            }
+            Collections.sort(params);
+            if (!params.isEmpty()) {
+                key.append('?').append(String.join("&", params));
+            }
+        }
+        for (String header : this.headers) {
+            key.append(' ').append(header).append('=').append(headers.getOrDefault(header, ""));
+        }
+        if (matchBody && body.length > 0) {
+            key.append(" body=").append(sha256(body));
+        }
+        // Keys are stored one per line in the cassette index
+        return key.toString().replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static List<String> split(String value) {
+        List<String> items = new ArrayList<>();
+        Arrays.stream(value.split(",")).map(String::trim).filter(item -> !item.isEmpty()).forEach(items::add);
+        return items;
+    }
+}
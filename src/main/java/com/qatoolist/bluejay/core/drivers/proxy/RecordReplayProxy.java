@@ -0,0 +1,568 @@
+package com.qatoolist.bluejay.core.drivers.proxy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.Proxy;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.AbstractDriverOptions;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RecordReplayProxy is an embedded HTTP(S) proxy that WebDriverFactory routes browsers through,
+ * so UI suites can run against a fast, repeatable local stand-in of the backend:
+ * * record - every request is forwarded to its real server and the response is appended to the
+ * cassette ({@link CassetteStore})
+ * * replay - requests are answered from the memory-mapped cassette, matched by {@link MatchRules};
+ * unmatched requests get a 504 response, or are forwarded live when 'proxy.replay.miss=forward'
+ * <p>
+ * HTTPS requests are decrypted with a self-signed certificate generated once with the JDK's keytool
+ * ('proxy.keystore', default build/proxy/proxy.p12); the proxied browsers are therefore started
+ * with insecure certificates accepted. Chrome, Edge and Firefox are supported; other browsers run
+ * without the proxy.
+ * <p>
+ * Upgraded connections (WebSocket) cannot be recorded: in both modes they are tunneled as raw
+ * bytes to their server, and fail with a 502 response when it cannot be reached.
+ * <p>
+ * Configured by system properties:
+ * <ul>
+ *     <li>proxy.mode - off, record or replay (default: off)</li>
+ *     <li>proxy.cassette - the cassette name (default: default)</li>
+ *     <li>proxy.cassette.dir - the cassettes directory (default: src/test/resources/cassettes)</li>
+ *     <li>proxy.port - the local port, 0 for any free port (default: 0)</li>
+ *     <li>proxy.replay.miss - error or forward (default: error)</li>
+ * </ul>
+ */
+public class RecordReplayProxy {
+
+    private static final String MODE = System.getProperty("proxy.mode", "off").toLowerCase(Locale.ROOT);
+    private static final Path CASSETTE = Paths.get(System.getProperty("proxy.cassette.dir", "src/test/resources/cassettes"))
+            .resolve(System.getProperty("proxy.cassette", "default"));
+    private static final int PORT = Integer.getInteger("proxy.port", 0);
+    private static final boolean FORWARD_MISSES = "forward".equalsIgnoreCase(System.getProperty("proxy.replay.miss", "error"));
+    private static final Path KEYSTORE = Paths.get(System.getProperty("proxy.keystore", "build/proxy/proxy.p12"));
+    private static final char[] KEYSTORE_PASSWORD = "bluejay-proxy".toCharArray();
+    private static final int SOCKET_TIMEOUT_MS = 120_000;
+
+    // Managed by the proxy or the JDK HTTP client, never copied between the browser and the server
+    private static final Set<String> HOP_BY_HOP = Set.of("connection", "keep-alive", "proxy-connection",
+            "proxy-authorization", "proxy-authenticate", "te", "trailer", "transfer-encoding", "upgrade",
+            "content-length", "host", "expect");
+
+    private static final Logger logger = LogManager.getLogger(RecordReplayProxy.class);
+
+    private static final LongAdder recorded = new LongAdder();
+    private static final LongAdder replayed = new LongAdder();
+    private static final LongAdder missed = new LongAdder();
+    private static final LongAdder forwarded = new LongAdder();
+    private static final LongAdder tunneled = new LongAdder();
+
+    private static MatchRules rules;
+    private static CassetteStore cassette;
+    private static ServerSocket serverSocket;
+    private static ExecutorService connections;
+    private static SSLContext sslContext;
+    private static HttpClient client;
+
+    private RecordReplayProxy() {
+    } // Prevent instantiation
+
+    /**
+     * @return true if 'proxy.mode' is record or replay.
+     */
+    public static boolean isEnabled() {
+        return "record".equals(MODE) || "replay".equals(MODE);
+    }
+
+    /**
+     * Routes a browser through the proxy, starting the proxy on first use. Does nothing if the proxy
+     * is disabled or the browser is not supported.
+     *
+     * @param options The browser options to configure
+     */
+    public static void apply(MutableCapabilities options) {
+        if (!isEnabled()) {
+            return;
+        }
+        String address = "127.0.0.1:" + start();
+        if (options instanceof ChromiumOptions) {
+            // Chromium never proxies loopback addresses unless told so
+            ((ChromiumOptions<?>) options).addArguments("--proxy-server=http://" + address, "--proxy-bypass-list=<-loopback>");
+        } else if (options instanceof FirefoxOptions) {
+            ((FirefoxOptions) options).setProxy(new Proxy().setProxyType(Proxy.ProxyType.MANUAL)
+                    .setHttpProxy(address).setSslProxy(address));
+            ((FirefoxOptions) options).addPreference("network.proxy.allow_hijacking_localhost", true);
+        } else {
+            logger.warn("Record/replay proxy is not supported by " + options.getClass().getSimpleName() + ", requests go to the network");
+            return;
+        }
+        ((AbstractDriverOptions<?>) options).setAcceptInsecureCerts(true);
+    }
+
+    /**
+     * Starts the proxy if it is not running.
+     *
+     * @return The local port of the proxy.
+     * @throws IllegalStateException if the proxy cannot be started.
+     */
+    public static synchronized int start() {
+        if (serverSocket != null) {
+            return serverSocket.getLocalPort();
+        }
+        try {
+            rules = MatchRules.fromConfig();
+            cassette = "replay".equals(MODE) ? CassetteStore.openForReplay(CASSETTE) : CassetteStore.openForRecord(CASSETTE);
+            client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+            serverSocket = new ServerSocket(PORT, 128, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to start the record/replay proxy: " + e.getMessage(), e);
+        }
+        connections = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "record-replay-proxy");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ServerSocket server = serverSocket;
+        connections.execute(() -> accept(server));
+        logger.info("Record/replay proxy started in " + MODE + " mode on port " + server.getLocalPort() + ", cassette " + CASSETTE);
+        return server.getLocalPort();
+    }
+
+    /**
+     * Stops the proxy and closes its cassette, if it is running.
+     */
+    public static synchronized void stop() {
+        if (serverSocket == null) {
+            return;
+        }
+        try {
+            serverSocket.close();
+            cassette.close();
+        } catch (IOException e) {
+            String error = "Failed to stop the record/replay proxy: " + e.getMessage();
+            logger.error(error);
+        }
+        connections.shutdownNow();
+        serverSocket = null;
+        logger.info("Record/replay proxy stopped: " + getStats());
+    }
+
+    /**
+     * @return The request counters of this run, or an empty string if the proxy never ran.
+     */
+    public static String getStats() {
+        long total = recorded.sum() + replayed.sum() + missed.sum() + forwarded.sum() + tunneled.sum();
+        if (total == 0) {
+            return "";
+        }
+        return MODE + ": recorded=" + recorded.sum() + ", replayed=" + replayed.sum()
+                + ", missed=" + missed.sum() + ", forwarded=" + forwarded.sum() + ", tunneled=" + tunneled.sum();
+    }
+
+    private static void accept(ServerSocket server) {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                connections.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (!server.isClosed()) {
+                    logger.warn("Record/replay proxy failed to accept a connection: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static void serve(Socket socket) {
+        try (Socket client = socket) {
+            client.setSoTimeout(SOCKET_TIMEOUT_MS);
+            handle(client, null);
+        } catch (SocketException e) {
+            // The browser closed the connection
+        } catch (IOException e) {
+            logger.debug("Record/replay proxy connection failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Serves the requests of a browser connection until it is closed.
+     *
+     * @param socket    The connection
+     * @param authority The host:port of the HTTPS tunnel the connection carries, or null for plain HTTP
+     */
+    private static void handle(Socket socket, String authority) throws IOException {
+        InputStream in = new BufferedInputStream(socket.getInputStream());
+        OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+        while (true) {
+            Request request = Request.read(in, authority);
+            if (request == null) {
+                return;
+            }
+            if ("CONNECT".equals(request.method)) {
+                if (authority != null || sslContext() == null) {
+                    writeError(out, 502, "HTTPS is not available through the record/replay proxy");
+                    return;
+                }
+                out.write("HTTP/1.1 200 Connection Established\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+                out.flush();
+                // The browser sends nothing before the tunnel is established, so no input is buffered yet
+                SSLSocket tls = (SSLSocket) sslContext().getSocketFactory().createSocket(socket, null, true);
+                tls.setUseClientMode(false);
+                handle(tls, request.target);
+                return;
+            }
+            if (request.uri == null) {
+                writeError(out, 400, "Not a proxy request: " + request.target);
+                return;
+            }
+            if (request.headers.containsKey("upgrade")) {
+                // The connection stops being HTTP once the server accepts the upgrade
+                tunnel(request, socket, in, out);
+                return;
+            }
+            respond(request, out);
+            if ("close".equalsIgnoreCase(request.headers.get("connection"))) {
+                return;
+            }
+        }
+    }
+
+    private static void respond(Request request, OutputStream out) throws IOException {
+        String key = rules.key(request.method, request.uri, request.headers, request.body);
+        if ("replay".equals(MODE)) {
+            RecordedResponse response = cassette.get(key);
+            if (response != null) {
+                replayed.increment();
+                write(out, response.getStatus(), response.getHeaders(), response.getBody());
+                return;
+            }
+            missed.increment();
+            if (!FORWARD_MISSES) {
+                logger.warn("No recorded response for " + key);
+                writeError(out, 504, "No recorded response for " + key + " in cassette " + CASSETTE);
+                return;
+            }
+        }
+
+        HttpResponse<byte[]> response;
+        try {
+            response = forward(request);
+        } catch (IOException | IllegalArgumentException e) {
+            writeError(out, 502, "Request to " + request.uri + " failed: " + e.getMessage());
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeError(out, 502, "Request to " + request.uri + " interrupted");
+            return;
+        }
+        List<String[]> headers = new ArrayList<>();
+        response.headers().map().forEach((name, values) -> {
+            if (!HOP_BY_HOP.contains(name.toLowerCase(Locale.ROOT)) && !name.startsWith(":")) {
+                values.forEach(value -> headers.add(new String[]{name, value}));
+            }
+        });
+        if ("record".equals(MODE)) {
+            cassette.put(key, response.statusCode(), headers, response.body());
+            recorded.increment();
+        } else {
+            forwarded.increment();
+        }
+        write(out, response.statusCode(), headers, ByteBuffer.wrap(response.body()));
+    }
+
+    private static HttpResponse<byte[]> forward(Request request) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request.uri)
+                .timeout(Duration.ofMillis(SOCKET_TIMEOUT_MS))
+                .method(request.method, request.body.length > 0
+                        ? HttpRequest.BodyPublishers.ofByteArray(request.body) : HttpRequest.BodyPublishers.noBody());
+        for (String[] header : request.headerList) {
+            if (!HOP_BY_HOP.contains(header[0].toLowerCase(Locale.ROOT))) {
+                builder.header(header[0], header[1]);
+            }
+        }
+        // Bodies are stored and replayed exactly as the server sent them, compressed or not
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * Relays an upgrade request (e.g. a WebSocket handshake) to its server, then copies bytes both
+     * ways until either side closes the connection.
+     *
+     * @param request The upgrade request
+     * @param socket  The browser connection
+     * @param in      The browser connection input, positioned after the request
+     * @param out     The browser connection output
+     */
+    private static void tunnel(Request request, Socket socket, InputStream in, OutputStream out) throws IOException {
+        URI uri = request.uri;
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() >= 0 ? uri.getPort() : secure ? 443 : 80;
+        Socket origin;
+        try {
+            origin = secure ? SSLSocketFactory.getDefault().createSocket(uri.getHost(), port) : new Socket(uri.getHost(), port);
+        } catch (IOException e) {
+            writeError(out, 502, "Upgrade request to " + uri + " failed: " + e.getMessage());
+            return;
+        }
+        tunneled.increment();
+        try (Socket server = origin) {
+            StringBuilder head = new StringBuilder(request.method).append(' ')
+                    .append(uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath())
+                    .append(uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery()).append(" HTTP/1.1\r\n");
+            for (String[] header : request.headerList) {
+                if (!header[0].toLowerCase(Locale.ROOT).startsWith("proxy-")) {
+                    head.append(header[0]).append(": ").append(header[1]).append("\r\n");
+                }
+            }
+            head.append("\r\n");
+            OutputStream serverOut = server.getOutputStream();
+            serverOut.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+            serverOut.write(request.body);
+            serverOut.flush();
+
+            // Upgraded connections may stay idle for long
+            socket.setSoTimeout(0);
+            InputStream serverIn = server.getInputStream();
+            connections.execute(() -> {
+                pipe(serverIn, out);
+                closeQuietly(socket);
+            });
+            pipe(in, serverOut);
+        }
+    }
+
+    private static void pipe(InputStream from, OutputStream to) {
+        byte[] buffer = new byte[8192];
+        try {
+            for (int read = from.read(buffer); read != -1; read = from.read(buffer)) {
+                to.write(buffer, 0, read);
+                to.flush();
+            }
+        } catch (IOException e) {
+            // One side closed the connection
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+
+    private static void write(OutputStream out, int status, List<String[]> headers, ByteBuffer body) throws IOException {
+        StringBuilder head = new StringBuilder("HTTP/1.1 ").append(status).append(" \r\n");
+        for (String[] header : headers) {
+            head.append(header[0]).append(": ").append(header[1]).append("\r\n");
+        }
+        head.append("Content-Length: ").append(body.remaining()).append("\r\n\r\n");
+        out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        Channels.newChannel(out).write(body);
+        out.flush();
+    }
+
+    private static void writeError(OutputStream out, int status, String message) throws IOException {
+        List<String[]> headers = new ArrayList<>();
+        headers.add(new String[]{"Content-Type", "text/plain; charset=utf-8"});
+        write(out, status, headers, ByteBuffer.wrap(message.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @return The TLS context presenting the proxy's self-signed certificate, or null if it cannot be created.
+     */
+    private static synchronized SSLContext sslContext() {
+        if (sslContext != null) {
+            return sslContext;
+        }
+        try {
+            if (!Files.isRegularFile(KEYSTORE)) {
+                generateKeystore();
+            }
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            try (InputStream stream = Files.newInputStream(KEYSTORE)) {
+                keyStore.load(stream, KEYSTORE_PASSWORD);
+            }
+            KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            keyManagers.init(keyStore, KEYSTORE_PASSWORD);
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(keyManagers.getKeyManagers(), null, null);
+            sslContext = context;
+        } catch (IOException | GeneralSecurityException e) {
+            String error = "Record/replay proxy cannot intercept HTTPS: " + e.getMessage();
+            logger.error(error);
+        }
+        return sslContext;
+    }
+
+    private static void generateKeystore() throws IOException {
+        if (KEYSTORE.getParent() != null) {
+            Files.createDirectories(KEYSTORE.getParent());
+        }
+        String keytool = Paths.get(System.getProperty("java.home"), "bin", "keytool").toString();
+        String password = new String(KEYSTORE_PASSWORD);
+        Process process = new ProcessBuilder(keytool, "-genkeypair", "-alias", "proxy", "-keyalg", "RSA", "-keysize", "2048",
+                "-validity", "3650", "-dname", "CN=bluejay-record-replay-proxy", "-storetype", "PKCS12",
+                "-keystore", KEYSTORE.toString(), "-storepass", password, "-keypass", password)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.to(new File(KEYSTORE + ".log")))
+                .start();
+        try {
+            if (!process.waitFor(60, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                process.destroy();
+                throw new IOException("keytool failed, see " + KEYSTORE + ".log");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating " + KEYSTORE, e);
+        }
+    }
+
+    /**
+     * An HTTP request read from a browser connection.
+     */
+    private static class Request {
+        private final String method;
+        private final String target;
+        private final URI uri;
+        private final List<String[]> headerList;
+        private final Map<String, String> headers;
+        private final byte[] body;
+
+        private Request(String method, String target, URI uri, List<String[]> headerList, Map<String, String> headers, byte[] body) {
+            this.method = method;
+            this.target = target;
+            this.uri = uri;
+            this.headerList = headerList;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        /**
+         * Reads the next request of a connection.
+         *
+         * @param in        The connection input
+         * @param authority The host:port of the HTTPS tunnel, or null for plain HTTP
+         * @return The request, or null at the end of the connection.
+         */
+        private static Request read(InputStream in, String authority) throws IOException {
+            String requestLine = readLine(in);
+            while (requestLine != null && requestLine.isEmpty()) {
+                requestLine = readLine(in);
+            }
+            if (requestLine == null) {
+                return null;
+            }
+            String[] parts = requestLine.split(" ");
+            if (parts.length < 2) {
+                throw new IOException("Malformed request line: " + requestLine);
+            }
+            List<String[]> headerList = new ArrayList<>();
+            Map<String, String> headers = new HashMap<>();
+            for (String line = readLine(in); line != null && !line.isEmpty(); line = readLine(in)) {
+                int colon = line.indexOf(':');
+                if (colon > 0) {
+                    String name = line.substring(0, colon).trim();
+                    String value = line.substring(colon + 1).trim();
+                    headerList.add(new String[]{name, value});
+                    headers.put(name.toLowerCase(Locale.ROOT), value);
+                }
+            }
+
+            byte[] body;
+            if ("chunked".equalsIgnoreCase(headers.get("transfer-encoding"))) {
+                body = readChunked(in);
+            } else if (headers.containsKey("content-length")) {
+                body = in.readNBytes(Integer.parseInt(headers.get("content-length")));
+            } else {
+                body = new byte[0];
+            }
+
+            String method = parts[0].toUpperCase(Locale.ROOT);
+            String target = parts[1];
+            URI uri = null;
+            if (authority != null && target.startsWith("/")) {
+                uri = URI.create("https://" + (authority.endsWith(":443") ? authority.substring(0, authority.length() - 4) : authority) + target);
+            } else if (target.startsWith("http://") || target.startsWith("https://")) {
+                uri = URI.create(target);
+            }
+            return new Request(method, target, uri, headerList, headers, body);
+        }
+
+        private static byte[] readChunked(InputStream in) throws IOException {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            while (true) {
+                String sizeLine = readLine(in);
+                if (sizeLine == null) {
+                    throw new IOException("Connection closed inside a chunked body");
+                }
+                int extension = sizeLine.indexOf(';');
+                int size = Integer.parseInt((extension < 0 ? sizeLine : sizeLine.substring(0, extension)).trim(), 16);
+                if (size == 0) {
+                    // Skip the trailers
+                    for (String line = readLine(in); line != null && !line.isEmpty(); line = readLine(in)) {
+                        continue;
+                    }
+                    return body.toByteArray();
+                }
+                body.write(in.readNBytes(size));
+                readLine(in);
+            }
+        }
+
+        private static String readLine(InputStream in) throws IOException {
+            StringBuilder line = new StringBuilder();
+            int c;
+            while ((c = in.read()) != -1) {
+                if (c == '\n') {
+                    int length = line.length();
+                    return length > 0 && line.charAt(length - 1) == '\r' ? line.substring(0, length - 1) : line.toString();
+                }
+                line.append((char) c);
+            }
+            return line.length() > 0 ? line.toString() : null;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.qatoolist.bluejay.core.drivers.proxy;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * RecordedResponse is an HTTP response stored in a cassette: status, headers in their original
+ * order and body. In replay mode the body is a read-only view of the memory-mapped cassette.
+ */
+public class RecordedResponse {
+
+    private final int status;
+    private final List<String[]> headers;
+    private final ByteBuffer body;
+
+    RecordedResponse(int status, List<String[]> headers, ByteBuffer body) {
+        this.status = status;
+        this.headers = Collections.unmodifiableList(headers);
+        this.body = body;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return The headers as name/value pairs.
+     */
+    public List<String[]> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return A new read-only view of the body, positioned at its start.
+     */
+    public ByteBuffer getBody() {
+        return body.asReadOnlyBuffer();
+    }
+}
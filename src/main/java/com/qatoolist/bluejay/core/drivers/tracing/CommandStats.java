@@ -0,0 +1,74 @@
+package com.qatoolist.bluejay.core.drivers.tracing;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CommandStats aggregates the latency of one kind of WebDriver command, identified by the
+ * command name, the page class issuing it and the element locator.
+ */
+public class CommandStats {
+
+    private final String command;
+    private final String page;
+    private final String locator;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder slow = new LongAdder();
+
+    CommandStats(String command, String page, String locator) {
+        this.command = command;
+        this.page = page;
+        this.locator = locator;
+    }
+
+    void record(long nanos, boolean isSlow) {
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        if (isSlow) {
+            slow.increment();
+        }
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public String getPage() {
+        return page;
+    }
+
+    public String getLocator() {
+        return locator;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSlowCount() {
+        return slow.sum();
+    }
+
+    public double getTotalMs() {
+        return totalNanos.sum() / 1e6;
+    }
+
+    public double getAverageMs() {
+        long calls = getCount();
+        return calls > 0 ? getTotalMs() / calls : 0;
+    }
+
+    public double getMaxMs() {
+        return maxNanos.get() / 1e6;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s %s: count=%d, avg=%.1fms, max=%.1fms, slow=%d",
+                page, command, locator, getCount(), getAverageMs(), getMaxMs(), getSlowCount());
+    }
+}
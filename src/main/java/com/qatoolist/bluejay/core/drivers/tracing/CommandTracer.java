@@ -0,0 +1,244 @@
+package com.qatoolist.bluejay.core.drivers.tracing;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.qatoolist.bluejay.core.config.ConfigManager;
+import com.qatoolist.bluejay.core.pages.BasePage;
+import com.qatoolist.bluejay.core.pages.waits.AdaptiveWait;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * CommandTracer measures the latency of every WebDriver command through Selenium's
+ * {@link EventFiringDecorator}, aggregated by command, page class and element locator
+ * (see {@link CommandStats}). The page is the innermost BasePage subclass on the calling stack,
+ * or the calling test class when no page object is involved.
+ * <p>
+ * Commands slower than 'trace.slow.ms' (default 1000), or 'trace.slow.&lt;command&gt;.ms' for a
+ * single command such as 'trace.slow.get.ms', are logged and kept for the running test, so the
+ * listener can add them to its report entry ({@link #drainSlowCommands()}). The asynchronous
+ * scripts of event-driven {@link AdaptiveWait}s block until their condition holds, so they are
+ * never reported as slow. Tracing is disabled with the system property 'trace.commands=false'.
+ */
+public class CommandTracer implements WebDriverListener {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("trace.commands", "true"));
+    private static final String NO_LOCATOR = "";
+
+    private static final CommandTracer INSTANCE = new CommandTracer();
+    private static final StackWalker walker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private static final Map<String, CommandStats> stats = new ConcurrentHashMap<>();
+    private static final Map<String, Long> thresholds = new ConcurrentHashMap<>();
+    // Elements are weakly referenced and compared by identity
+    private static final Cache<WebElement, String> locators = CacheBuilder.newBuilder().weakKeys().build();
+    private static final ThreadLocal<Timer> timers = ThreadLocal.withInitial(Timer::new);
+    private static final ThreadLocal<List<SlowCommand>> slowCommands = ThreadLocal.withInitial(ArrayList::new);
+
+    private static final Logger logger = LogManager.getLogger(CommandTracer.class);
+
+    static {
+        timers.remove();
+        slowCommands.remove();
+    }
+
+    private CommandTracer() {
+    }
+
+    /**
+     * Wraps a driver so its commands are traced, unless tracing is disabled.
+     *
+     * @param driver The WebDriver instance to wrap
+     * @return The decorated driver, or the given driver if tracing is disabled.
+     */
+    public static WebDriver decorate(WebDriver driver) {
+        if (!ENABLED) {
+            return driver;
+        }
+        return new EventFiringDecorator<WebDriver>(INSTANCE).decorate(driver);
+    }
+
+    /**
+     * Returns and clears the slow commands recorded on the current thread since the last call.
+     *
+     * @return The slow commands, in execution order.
+     */
+    public static List<SlowCommand> drainSlowCommands() {
+        List<SlowCommand> slow = slowCommands.get();
+        if (slow.isEmpty()) {
+            return slow;
+        }
+        slowCommands.remove();
+        return slow;
+    }
+
+    /**
+     * Returns the command kinds with the most time over their threshold in this run.
+     *
+     * @param limit The maximum number of entries
+     * @return Stats of commands with at least one slow call, slowest maximum first.
+     */
+    public static List<CommandStats> getSlowest(int limit) {
+        return stats.values().stream()
+                .filter(entry -> entry.getSlowCount() > 0)
+                .sorted(Comparator.comparingDouble(CommandStats::getMaxMs).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return The latency stats of every command kind traced in this run.
+     */
+    public static List<CommandStats> getAll() {
+        return new ArrayList<>(stats.values());
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        timers.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(target, method, args, timers.get().pop());
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(target, method, args, timers.get().pop());
+    }
+
+    @Override
+    public void afterFindElement(WebDriver driver, By locator, WebElement result) {
+        locators.put(result, locator.toString());
+    }
+
+    @Override
+    public void afterFindElements(WebDriver driver, By locator, List<WebElement> result) {
+        result.forEach(element -> locators.put(element, locator.toString()));
+    }
+
+    @Override
+    public void afterFindElement(WebElement element, By locator, WebElement result) {
+        locators.put(result, locator.toString());
+    }
+
+    @Override
+    public void afterFindElements(WebElement element, By locator, List<WebElement> result) {
+        result.forEach(found -> locators.put(found, locator.toString()));
+    }
+
+    private void record(Object target, Method method, Object[] args, long start) {
+        long nanos = System.nanoTime() - start;
+        if (start == 0 || method.getDeclaringClass() == Object.class) {
+            return;
+        }
+        String command = method.getName();
+        String locator = locatorOf(target, args);
+        String page = currentPage();
+
+        long thresholdMs = thresholds.computeIfAbsent(command, CommandTracer::threshold);
+        long durationMs = nanos / 1_000_000;
+        boolean slow = durationMs >= thresholdMs && !isWait(command);
+
+        stats.computeIfAbsent(page + " " + command + " " + locator, key -> new CommandStats(command, page, locator))
+                .record(nanos, slow);
+
+        if (slow) {
+            SlowCommand slowCommand = new SlowCommand(command, page, locator, durationMs, thresholdMs);
+            slowCommands.get().add(slowCommand);
+            logger.warn(slowCommand.toString());
+        }
+    }
+
+    private static String locatorOf(Object target, Object[] args) {
+        if (args != null && args.length > 0 && args[0] instanceof By) {
+            return args[0].toString();
+        }
+        if (target instanceof WebElement) {
+            String locator = locators.getIfPresent(target);
+            return locator != null ? locator : NO_LOCATOR;
+        }
+        return NO_LOCATOR;
+    }
+
+    /**
+     * Finds the page class issuing the command: the innermost BasePage subclass on the stack, or
+     * otherwise the first class outside the JDK, Selenium and the framework (usually the test).
+     */
+    private static String currentPage() {
+        return walker.walk(frames -> {
+            String caller = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                Class<?> type = frame.getDeclaringClass();
+                if (BasePage.class.isAssignableFrom(type) && type != BasePage.class) {
+                    return type.getSimpleName();
+                }
+                String name = type.getName();
+                if (name.startsWith("org.testng.")) {
+                    break; // Reached the test runner
+                }
+                if (caller == null && !isInfrastructure(name)) {
+                    caller = type.getSimpleName();
+                }
+            }
+            return caller != null ? caller : "-";
+        });
+    }
+
+    /**
+     * Tells if the command is an event-driven wait of AdaptiveWait, whose duration is the wait itself.
+     */
+    private static boolean isWait(String command) {
+        return "executeAsyncScript".equals(command)
+                && walker.walk(frames -> frames.anyMatch(frame -> frame.getDeclaringClass() == AdaptiveWait.class));
+    }
+
+    private static boolean isInfrastructure(String className) {
+        return className.startsWith("java.") || className.startsWith("jdk.") || className.startsWith("sun.")
+                || className.startsWith("com.sun.") || className.startsWith("org.openqa.")
+                || className.startsWith("net.bytebuddy.") || className.startsWith("com.qatoolist.bluejay.core.");
+    }
+
+    private static long threshold(String command) {
+        String key = "trace.slow." + command + ".ms";
+        if (ConfigManager.hasProperty(key)) {
+            return ConfigManager.getIntProperty(key, 1000);
+        }
+        return ConfigManager.hasProperty("trace.slow.ms") ? ConfigManager.getIntProperty("trace.slow.ms", 1000) : 1000;
+    }
+
+    /**
+     * Start times of the commands in progress on one thread; decorated calls can nest.
+     */
+    private static class Timer {
+        private long[] starts = new long[8];
+        private int depth;
+
+        private void push(long start) {
+            if (depth == starts.length) {
+                starts = Arrays.copyOf(starts, depth * 2);
+            }
+            starts[depth++] = start;
+        }
+
+        private long pop() {
+            return depth > 0 ? starts[--depth] : 0;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.qatoolist.bluejay.core.drivers.tracing;
+
+/**
+ * SlowCommand describes one WebDriver command that took longer than its threshold.
+ */
+public class SlowCommand {
+
+    private final String command;
+    private final String page;
+    private final String locator;
+    private final long durationMs;
+    private final long thresholdMs;
+
+    SlowCommand(String command, String page, String locator, long durationMs, long thresholdMs) {
+        this.command = command;
+        this.page = page;
+        this.locator = locator;
+        this.durationMs = durationMs;
+        this.thresholdMs = thresholdMs;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public String getPage() {
+        return page;
+    }
+
+    public String getLocator() {
+        return locator;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public long getThresholdMs() {
+        return thresholdMs;
+    }
+
+    @Override
+    public String toString() {
+        return "Slow command " + command + (locator.isEmpty() ? "" : " [" + locator + "]") + " on " + page
+                + ": " + durationMs + " ms (threshold " + thresholdMs + " ms)";
+    }
+}
@@ -0,0 +1,11 @@
+package com.qatoolist.bluejay.core.exceptions;
+
+public class SessionAdmissionException extends RuntimeException {
+    public SessionAdmissionException(String message) {
+        super(message);
+    }
+
+    public SessionAdmissionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
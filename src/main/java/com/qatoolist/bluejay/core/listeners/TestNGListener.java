@@ -3,22 +3,50 @@ package com.qatoolist.bluejay.core.listeners;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 import com.qatoolist.bluejay.core.drivers.WebDriverFactory;
+import com.qatoolist.bluejay.core.drivers.governor.GovernorMetrics;
+import com.qatoolist.bluejay.core.drivers.governor.SessionGovernor;
+import com.qatoolist.bluejay.core.drivers.network.NetworkStats;
+import com.qatoolist.bluejay.core.drivers.proxy.RecordReplayProxy;
+import com.qatoolist.bluejay.core.drivers.tracing.CommandStats;
+import com.qatoolist.bluejay.core.drivers.tracing.CommandTracer;
+import com.qatoolist.bluejay.core.drivers.tracing.SlowCommand;
+import com.qatoolist.bluejay.core.listeners.checkpoint.RunCheckpoint;
+import com.qatoolist.bluejay.core.listeners.health.EnvironmentCircuitBreaker;
+import com.qatoolist.bluejay.core.listeners.impact.ImpactMap;
+import com.qatoolist.bluejay.core.listeners.impact.TestImpactRecorder;
+import com.qatoolist.bluejay.core.listeners.shard.TestDurations;
+import com.qatoolist.bluejay.core.pages.perf.PagePerformance;
+import com.qatoolist.bluejay.core.pages.perf.PerfComparison;
 import com.qatoolist.bluejay.core.reporting.ExtentReportManager;
+import com.qatoolist.bluejay.core.reporting.TestLogContext;
 import com.qatoolist.bluejay.core.utils.ScreenshotUtils;
 import org.testng.*;
 
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Date;
+import java.util.List;
+
 /**
  * TestNGListener implements TestNG's ITestListener interface to interact with test events
  * and provide enhanced reporting using ExtentReports. Features include:
  * * Detailed execution logs printed to the console
  * * Comprehensive ExtentReports test logs
  * * Screenshot capture on test failures
+ * * Per-test log context (see {@link TestLogContext}), with a link to each test's log file
+ * * A checkpoint of completed tests (see {@link RunCheckpoint}); a resumed run reports the tests
+ * that passed in its earlier attempts along with its own results
+ * * An environment health check (see {@link EnvironmentCircuitBreaker}) that skips the remaining
+ * browser tests quickly while the application under test is down
  */
-public class TestNGListener implements ITestListener, ISuiteListener {
+public class TestNGListener implements ITestListener, ISuiteListener, IInvokedMethodListener, IExecutionListener {
 
     private static final ExtentReports extentReports = ExtentReportManager.getReportInstance();
     private static final ThreadLocal<ExtentTest> extentTest = new ThreadLocal<>();
+    private static boolean resumedReported;
 
     static {
         extentTest.remove();
@@ -33,6 +61,7 @@ public class TestNGListener implements ITestListener, ISuiteListener {
     public void onStart(ISuite suite) {
         suiteTest = extentReports.createTest("Suite: " + suite.getName());
         suiteTest.log(Status.INFO, "Suite Initialized");
+        reportResumedTests();
     }
 
     /**
@@ -45,6 +74,37 @@ public class TestNGListener implements ITestListener, ISuiteListener {
         // It's better to flush in ITestContext#onFinish to ensure all tests are accounted for.
     }
 
+    /**
+     * Invoked once, after all suites of the run have finished. Stops the record/replay proxy,
+     * which closes its cassette, adds the run-wide statistics to the report, flushes it, and
+     * saves the data recorded for later runs.
+     */
+    @Override
+    public void onExecutionFinish() {
+        NetworkStats networkStats = NetworkStats.total();
+        if (networkStats.getBlocked() + networkStats.getMocked() + networkStats.getServed() > 0) {
+            extentReports.setSystemInfo("Network Requests", networkStats.toString());
+        }
+        GovernorMetrics governorMetrics = SessionGovernor.getMetrics();
+        if (governorMetrics.getAdmitted() > 0) {
+            extentReports.setSystemInfo("Browser Sessions", governorMetrics.toString());
+        }
+        RecordReplayProxy.stop();
+        String proxyStats = RecordReplayProxy.getStats();
+        if (!proxyStats.isEmpty()) {
+            extentReports.setSystemInfo("Record/Replay Proxy", proxyStats);
+        }
+        if (EnvironmentCircuitBreaker.getTrips() > 0) {
+            extentReports.setSystemInfo("Environment Circuit", "opened " + EnvironmentCircuitBreaker.getTrips() + " times, "
+                    + EnvironmentCircuitBreaker.getSkipped() + " tests skipped, last cause: " + EnvironmentCircuitBreaker.getCause());
+        }
+        reportSlowestCommands();
+        reportPagePerformance();
+        extentReports.flush();
+        TestImpactRecorder.save();
+        TestDurations.save();
+    }
+
     /**
      * Invoked at the start of a TestNG test suite.
      *
@@ -67,6 +127,55 @@ public class TestNGListener implements ITestListener, ISuiteListener {
         extentReports.flush();
     }
 
+    /**
+     * Invoked before each test and configuration method. Skips tests whose thread already holds a
+     * browser (e.g. one shared by the class) while the environment circuit is open; tests starting
+     * their own browser are checked by WebDriverFactory. Starts recording the test impact of the
+     * @BeforeMethod so that its usages are attributed to the test.
+     *
+     * @param method The invoked method
+     * @param result The TestNG result
+     */
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+        if ((method.isTestMethod() || method.getTestMethod().isBeforeMethodConfiguration()) && WebDriverFactory.hasDriver()) {
+            EnvironmentCircuitBreaker.checkAdmission();
+        }
+        if (method.getTestMethod().isBeforeMethodConfiguration()) {
+            TestImpactRecorder.startSetup();
+        }
+    }
+
+    /**
+     * Invoked after each test and configuration method. Reports one outcome per browser test (its
+     * thread holds a browser) to the environment circuit - the failure of its @BeforeMethod, or
+     * else its own outcome - and takes the slow commands of configuration methods: those of an
+     * @AfterMethod go to the report entry of its test, those of class or suite configuration only
+     * to the log, so none carry over to the next test.
+     *
+     * @param method The invoked method
+     * @param result The TestNG result
+     */
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        boolean browserTest = WebDriverFactory.hasDriver();
+        if (browserTest && method.isTestMethod()) {
+            if (result.getThrowable() == null) {
+                EnvironmentCircuitBreaker.recordSuccess();
+            } else {
+                EnvironmentCircuitBreaker.recordFailure(result.getThrowable());
+            }
+        } else if (browserTest && method.getTestMethod().isBeforeMethodConfiguration() && result.getThrowable() != null) {
+            // The test itself will not run
+            EnvironmentCircuitBreaker.recordFailure(result.getThrowable());
+        }
+        if (method.getTestMethod().isAfterMethodConfiguration()) {
+            reportSlowCommands();
+        } else if (!method.isTestMethod() && !method.getTestMethod().isBeforeMethodConfiguration()) {
+            CommandTracer.drainSlowCommands(); // Already logged by the tracer
+        }
+    }
+
     /**
      * Invoked at the start of a test method.
      *
@@ -74,9 +183,11 @@ public class TestNGListener implements ITestListener, ISuiteListener {
      */
     @Override
     public void onTestStart(ITestResult result) {
+        TestLogContext.start(result.getTestClass().getRealClass(), result.getMethod().getMethodName());
         ExtentTest test = extentReports.createTest(result.getMethod().getMethodName());
         test.log(Status.INFO, "Starting Test: " + result.getMethod().getDescription());
         extentTest.set(test);
+        TestImpactRecorder.startTest(result.getTestClass().getRealClass(), result.getMethod().getConstructorOrMethod().getMethod());
     }
 
     /**
@@ -87,6 +198,11 @@ public class TestNGListener implements ITestListener, ISuiteListener {
     @Override
     public void onTestSuccess(ITestResult result) {
         extentTest.get().log(Status.PASS, "Test Passed: " + result.getMethod().getMethodName());
+        reportSlowCommands();
+        finishTestLog();
+        TestImpactRecorder.finishTest();
+        recordDuration(result);
+        checkpoint(result, RunCheckpoint.PASS);
     }
 
     /**
@@ -98,16 +214,26 @@ public class TestNGListener implements ITestListener, ISuiteListener {
     public void onTestFailure(ITestResult result) {
         extentTest.get().fail(result.getThrowable()); // Log the throwable (stack trace)
 
-        try {
-            String screenshotPath = ScreenshotUtils.captureScreenshot(WebDriverFactory.getDriver());
-            extentTest.get().addScreenCaptureFromPath(screenshotPath, "Failure Screenshot");
-        } catch (Exception e) {
-            extentTest.get().log(Status.WARNING, "Failed to capture screenshot: " + e.getMessage());
+        if (EnvironmentCircuitBreaker.isOpen()) {
+            // The application is down; a screenshot would only show the browser's error page
+            extentTest.get().log(Status.WARNING, "Environment unhealthy: " + EnvironmentCircuitBreaker.getCause());
+        } else {
+            try {
+                String screenshotPath = ScreenshotUtils.captureScreenshot(WebDriverFactory.getDriver());
+                extentTest.get().addScreenCaptureFromPath(screenshotPath, "Failure Screenshot");
+            } catch (Exception e) {
+                extentTest.get().log(Status.WARNING, "Failed to capture screenshot: " + e.getMessage());
+            }
         }
 
         // Additional context logging in ExtentReports
         extentTest.get().log(Status.INFO, "Test Class: " + result.getTestClass().getName());
         extentTest.get().log(Status.INFO, "Test Method: " + result.getMethod().getMethodName());
+        reportSlowCommands();
+        finishTestLog();
+        TestImpactRecorder.finishTest();
+        recordDuration(result);
+        checkpoint(result, RunCheckpoint.FAIL);
     }
 
     /**
@@ -118,7 +244,121 @@ public class TestNGListener implements ITestListener, ISuiteListener {
     @Override
     public void onTestSkipped(ITestResult result) {
         extentTest.get().log(Status.SKIP, "Test Skipped: " + result.getMethod().getMethodName() + " due to: " + result.getThrowable());
+        reportSlowCommands();
+        finishTestLog();
+        TestImpactRecorder.finishTest();
+        checkpoint(result, RunCheckpoint.SKIP);
     }
 
+    /**
+     * Adds the WebDriver commands of the test that exceeded their latency threshold to its report entry.
+     */
+    private void reportSlowCommands() {
+        List<SlowCommand> slowCommands = CommandTracer.drainSlowCommands();
+        if (extentTest.get() == null) {
+            return;
+        }
+        for (SlowCommand slowCommand : slowCommands) {
+            extentTest.get().warning(slowCommand.toString());
+        }
+    }
 
+    /**
+     * Adds a table of the slowest WebDriver commands of the run to the report, limited to the
+     * system property 'trace.top' (default 10) entries.
+     */
+    private void reportSlowestCommands() {
+        List<CommandStats> slowest = CommandTracer.getSlowest(Integer.getInteger("trace.top", 10));
+        if (slowest.isEmpty()) {
+            return;
+        }
+        String[][] rows = new String[slowest.size() + 1][];
+        rows[0] = new String[]{"Page", "Command", "Locator", "Calls", "Slow", "Avg ms", "Max ms"};
+        for (int i = 0; i < slowest.size(); i++) {
+            CommandStats stats = slowest.get(i);
+            rows[i + 1] = new String[]{stats.getPage(), stats.getCommand(), stats.getLocator(),
+                    String.valueOf(stats.getCount()), String.valueOf(stats.getSlowCount()),
+                    String.format("%.1f", stats.getAverageMs()), String.format("%.1f", stats.getMaxMs())};
+        }
+        extentReports.createTest("Slow WebDriver Commands").warning(MarkupHelper.createTable(rows));
+    }
+
+    /**
+     * Saves the page load metrics of the run and adds their comparison with the baselines to the
+     * report; the entry fails when a percentile regressed.
+     */
+    private void reportPagePerformance() {
+        PagePerformance.save();
+        List<PerfComparison> comparisons = PagePerformance.compare();
+        if (comparisons.isEmpty()) {
+            return;
+        }
+        String[][] rows = new String[comparisons.size() + 1][];
+        rows[0] = new String[]{"Page", "Metric", "Percentile", "Samples", "Value ms", "Baseline ms", "Status"};
+        boolean regressed = false;
+        for (int i = 0; i < comparisons.size(); i++) {
+            PerfComparison comparison = comparisons.get(i);
+            regressed |= comparison.isRegression();
+            rows[i + 1] = new String[]{comparison.getPage(), comparison.getMetric().getKey(), "p" + comparison.getPercentile(),
+                    String.valueOf(comparison.getSamples()), String.format("%.0f", comparison.getValueMs()),
+                    comparison.hasBaseline() ? String.format("%.0f", comparison.getBaselineMs()) : "-",
+                    comparison.isRegression() ? "REGRESSED" : comparison.hasBaseline() ? "OK" : "NO BASELINE"};
+        }
+        extentReports.createTest("Page Performance").log(regressed ? Status.FAIL : Status.PASS, MarkupHelper.createTable(rows));
+    }
+
+    /**
+     * Links the test's log file from its report entry, if per-test logging is configured,
+     * and ends the test's log context.
+     */
+    private void finishTestLog() {
+        File logFile = TestLogContext.getLogFile();
+        if (logFile != null) {
+            Path reportDir = Paths.get(ExtentReportManager.getReportDir()).toAbsolutePath();
+            String link = reportDir.relativize(logFile.toPath().toAbsolutePath()).toString().replace(File.separatorChar, '/');
+            extentTest.get().info("<a href='" + link + "' target='_blank'>Test log</a>");
+        }
+        TestLogContext.finish();
+    }
+
+    /**
+     * Appends a completed test invocation to the run's checkpoint.
+     *
+     * @param result The TestNG result
+     * @param status The checkpoint status
+     */
+    private void checkpoint(ITestResult result, String status) {
+        RunCheckpoint.record(ImpactMap.testId(result.getTestClass().getRealClass(), result.getMethod().getMethodName()),
+                RunCheckpoint.rowKey(result.getParameters()), status);
+    }
+
+    /**
+     * Adds the tests that passed in earlier attempts of a resumed run to the report, once per run.
+     */
+    private static synchronized void reportResumedTests() {
+        if (resumedReported || !RunCheckpoint.isResuming()) {
+            return;
+        }
+        resumedReported = true;
+        List<RunCheckpoint.Entry> passed = RunCheckpoint.getPassed();
+        extentReports.setSystemInfo("Run", RunCheckpoint.getRunId() + " (resumed, " + passed.size() + " tests passed before)");
+        for (RunCheckpoint.Entry entry : passed) {
+            String name = entry.getTestId().substring(entry.getTestId().indexOf('#') + 1);
+            ExtentTest test = extentReports.createTest(entry.getRow().isEmpty() ? name : name + " " + entry.getRow());
+            test.assignCategory("Resumed");
+            test.log(Status.PASS, "Test Passed in an earlier attempt of run " + RunCheckpoint.getRunId()
+                    + " at " + new Date(entry.getTime()) + ": " + entry.getTestId());
+        }
+        extentReports.flush();
+    }
+
+    /**
+     * Records the duration of a completed test invocation for duration-balanced sharding.
+     *
+     * @param result The TestNG result
+     */
+    private void recordDuration(ITestResult result) {
+        TestDurations.record(ImpactMap.testId(result.getTestClass().getRealClass(), result.getMethod().getMethodName()),
+                result.getEndMillis() - result.getStartMillis());
+    }
 }
@@ -0,0 +1,328 @@
+package com.qatoolist.bluejay.core.listeners.checkpoint;
+
+import com.qatoolist.bluejay.core.listeners.shard.ShardSelector;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RunCheckpoint keeps a durable, append-only record of the test invocations completed in a run,
+ * so an interrupted run (JVM crash, CI timeout, host reboot) can be resumed without repeating the
+ * tests that already passed.
+ * <p>
+ * Every completed invocation appends one line - time, status, test id and data row - to
+ * '&lt;run id&gt;[-shard-N].checkpoint' in the checkpoint directory, and the line is forced to disk
+ * before the next test starts. A line cut short by a crash is ignored on load; when an invocation
+ * was recorded several times (e.g. retried), its last status wins. Data rows are identified by
+ * their parameters' string form, so rows whose parameters have no stable toString always rerun.
+ * <p>
+ * Forcing every line to disk costs a sync per test, so checkpointing is only on by default for
+ * runs that can be resumed: runs given a 'run.id' (shardedTest always passes one) or resuming.
+ * The files of all but the most recent 'run.checkpoint.keep' runs are deleted when a run starts
+ * checkpointing.
+ * <p>
+ * Configured by system properties:
+ * <ul>
+ *     <li>run.id - the run identifier (default: the start time, e.g. 20240131-142500)</li>
+ *     <li>run.resume - true skips the invocations that passed in the run 'run.id', or in the
+ *     latest checkpointed run when 'run.id' is not set (default: false)</li>
+ *     <li>run.checkpoint - true or false turns the checkpoint on or off (default: true if 'run.id'
+ *     or 'run.resume' is set, false otherwise)</li>
+ *     <li>run.checkpoint.keep - number of runs whose checkpoints are kept, including this one (default: 10)</li>
+ *     <li>run.checkpoint.dir - checkpoint directory (default: build/checkpoints)</li>
+ * </ul>
+ */
+public class RunCheckpoint {
+
+    public static final String PASS = "PASS";
+    public static final String FAIL = "FAIL";
+    public static final String SKIP = "SKIP";
+
+    private static final boolean RESUME = Boolean.parseBoolean(System.getProperty("run.resume", "false"));
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("run.checkpoint",
+            String.valueOf(RESUME || !System.getProperty("run.id", "").trim().isEmpty())));
+    private static final int KEEP = Math.max(1, Integer.getInteger("run.checkpoint.keep", 10));
+    private static final Path CHECKPOINT_DIR = Paths.get(System.getProperty("run.checkpoint.dir", "build/checkpoints"));
+    private static final String EXTENSION = ".checkpoint";
+
+    private static final Logger logger = LogManager.getLogger(RunCheckpoint.class);
+
+    private static final String runId;
+    private static final Map<String, Entry> previous;
+    private static FileChannel channel;
+
+    static {
+        String configured = System.getProperty("run.id", "").trim();
+        if (configured.isEmpty() && RESUME) {
+            configured = latestRunId();
+        }
+        runId = configured.isEmpty() ? new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) : configured;
+        previous = RESUME ? Collections.unmodifiableMap(load(CHECKPOINT_DIR, runId)) : Collections.emptyMap();
+        if (RESUME) {
+            logger.info("Resuming run " + runId + ": " + getPassed().size() + " invocations passed before");
+        }
+    }
+
+    private RunCheckpoint() {
+    } // Prevent instantiation
+
+    /**
+     * @return The identifier of this run; pass it as 'run.id' together with 'run.resume=true' to resume the run.
+     */
+    public static String getRunId() {
+        return runId;
+    }
+
+    /**
+     * @return true if this run resumes an earlier attempt of the same run id.
+     */
+    public static boolean isResuming() {
+        return RESUME;
+    }
+
+    /**
+     * Returns whether the invocation passed in an earlier attempt of this run.
+     *
+     * @param testId The test identifier ("fully.qualified.Class#method")
+     * @param row    The data row (see {@link #rowKey(Object[])}), empty for methods without a data provider
+     * @return true if the last recorded status of the invocation is PASS.
+     */
+    public static boolean hasPassed(String testId, String row) {
+        Entry entry = previous.get(testId + "\t" + row);
+        return entry != null && PASS.equals(entry.status);
+    }
+
+    /**
+     * @return The invocations that passed in earlier attempts of this run, in completion order.
+     */
+    public static List<Entry> getPassed() {
+        List<Entry> passed = new ArrayList<>();
+        for (Entry entry : previous.values()) {
+            if (PASS.equals(entry.status)) {
+                passed.add(entry);
+            }
+        }
+        return passed;
+    }
+
+    /**
+     * Appends a completed invocation to this run's checkpoint and forces it to disk.
+     * Failures are logged and never fail the test.
+     *
+     * @param testId The test identifier ("fully.qualified.Class#method")
+     * @param row    The data row (see {@link #rowKey(Object[])})
+     * @param status PASS, FAIL or SKIP
+     */
+    public static synchronized void record(String testId, String row, String status) {
+        if (!ENABLED) {
+            return;
+        }
+        String line = System.currentTimeMillis() + "\t" + status + "\t" + testId + "\t" + escape(row) + "\n";
+        try {
+            if (channel == null) {
+                Files.createDirectories(CHECKPOINT_DIR);
+                prune(CHECKPOINT_DIR, runId, KEEP);
+                String suffix = ShardSelector.isEnabled() ? "-shard-" + ShardSelector.SHARD_INDEX : "";
+                Path file = CHECKPOINT_DIR.resolve(runId + suffix + EXTENSION);
+                channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                logger.info("Checkpointing run " + runId + " to " + file);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            String error = "Failed to write run checkpoint: " + e.getMessage();
+            logger.error(error);
+        }
+    }
+
+    /**
+     * Identifies a data row by its parameters.
+     *
+     * @param parameters The invocation parameters
+     * @return The row key, empty for an invocation without parameters.
+     */
+    public static String rowKey(Object[] parameters) {
+        return parameters == null || parameters.length == 0 ? "" : Arrays.deepToString(parameters);
+    }
+
+    /**
+     * Loads the checkpoint files of a run, keeping the last entry of each invocation.
+     *
+     * @param directory The checkpoint directory
+     * @param id        The run id
+     * @return The entries keyed by test id and row, in completion order.
+     */
+    static Map<String, Entry> load(Path directory, String id) {
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        if (!Files.isDirectory(directory)) {
+            return entries;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : files) {
+                if (!id.equals(runIdOf(file))) {
+                    continue;
+                }
+                String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+                // Anything after the last newline was cut short by the interruption
+                for (String line : content.substring(0, content.lastIndexOf('\n') + 1).split("\n")) {
+                    String[] fields = line.split("\t", 4);
+                    if (fields.length < 4) {
+                        continue;
+                    }
+                    try {
+                        Entry entry = new Entry(Long.parseLong(fields[0]), fields[1], fields[2], unescape(fields[3]));
+                        entries.remove(entry.testId + "\t" + entry.row);
+                        entries.put(entry.testId + "\t" + entry.row, entry);
+                    } catch (NumberFormatException e) {
+                        logger.warn("Ignoring invalid checkpoint line in " + file + ": " + line);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            String error = "Failed to load run checkpoint " + id + ", running all tests: " + e.getMessage();
+            logger.error(error);
+        }
+        return entries;
+    }
+
+    /**
+     * Deletes the checkpoint files of all but the most recently written runs. The files of the
+     * current run are never deleted.
+     *
+     * @param directory The checkpoint directory
+     * @param current   The current run id
+     * @param keep      The number of runs to keep, including the current one
+     */
+    static void prune(Path directory, String current, int keep) {
+        Map<String, List<Path>> files = new LinkedHashMap<>();
+        Map<String, FileTime> written = new LinkedHashMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : stream) {
+                String id = runIdOf(file);
+                if (id.equals(current)) {
+                    continue;
+                }
+                FileTime time = Files.getLastModifiedTime(file);
+                files.computeIfAbsent(id, k -> new ArrayList<>()).add(file);
+                written.merge(id, time, (a, b) -> a.compareTo(b) >= 0 ? a : b);
+            }
+            List<String> runs = new ArrayList<>(written.keySet());
+            runs.sort((a, b) -> written.get(b).compareTo(written.get(a)));
+            for (String id : runs.subList(Math.min(runs.size(), keep - 1), runs.size())) {
+                for (Path file : files.get(id)) {
+                    // Other shards of this run may be pruning too
+                    Files.deleteIfExists(file);
+                }
+                logger.debug("Deleted the checkpoint of run " + id);
+            }
+        } catch (IOException e) {
+            String error = "Failed to prune run checkpoints: " + e.getMessage();
+            logger.error(error);
+        }
+    }
+
+    /**
+     * @return The run id of the most recently written checkpoint file, or an empty string if none.
+     */
+    private static String latestRunId() {
+        Path latest = null;
+        FileTime latestTime = null;
+        if (Files.isDirectory(CHECKPOINT_DIR)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(CHECKPOINT_DIR, "*" + EXTENSION)) {
+                for (Path file : files) {
+                    FileTime time = Files.getLastModifiedTime(file);
+                    if (latestTime == null || time.compareTo(latestTime) > 0) {
+                        latest = file;
+                        latestTime = time;
+                    }
+                }
+            } catch (IOException e) {
+                String error = "Failed to list run checkpoints: " + e.getMessage();
+                logger.error(error);
+            }
+        }
+        if (latest == null) {
+            logger.warn("No run checkpoint found in " + CHECKPOINT_DIR + ", running all tests");
+            return "";
+        }
+        return runIdOf(latest);
+    }
+
+    private static String runIdOf(Path file) {
+        String name = file.getFileName().toString();
+        name = name.substring(0, name.length() - EXTENSION.length());
+        return name.replaceFirst("-shard-\\d+$", "");
+    }
+
+    static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    static String unescape(String value) {
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                builder.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * A completed invocation recorded in a checkpoint.
+     */
+    public static class Entry {
+        private final long time;
+        private final String status;
+        private final String testId;
+        private final String row;
+
+        private Entry(long time, String status, String testId, String row) {
+            this.time = time;
+            this.status = status;
+            this.testId = testId;
+            this.row = row;
+        }
+
+        public long getTime() {
+            return time;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public String getTestId() {
+            return testId;
+        }
+
+        public String getRow() {
+            return row;
+        }
+    }
+}
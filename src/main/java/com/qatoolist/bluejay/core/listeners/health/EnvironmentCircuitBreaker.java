@@ -0,0 +1,257 @@
+package com.qatoolist.bluejay.core.listeners.health;
+
+import com.qatoolist.bluejay.core.config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.testng.SkipException;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * EnvironmentCircuitBreaker stops a run from spending browser time on an application that is
+ * down or badly degraded. It is shared by all test threads, and only concerns browser tests: tests
+ * that start a browser session through WebDriverFactory or run while their thread holds one. Tests
+ * without a browser, such as unit tests, are never skipped and never probe the application.
+ * <ul>
+ *     <li>Before the first browser session is started, 'app.base_url' is probed over HTTP
+ *     ({@link HealthProbe}); an unhealthy target opens the circuit right away.</li>
+ *     <li>While closed, one outcome per browser test is recorded in a sliding window: that of its
+ *     @BeforeMethod when the setup failed, that of the test otherwise. Only environment failures - connection errors
+ *     and browser network errors - count as failures, and WebDriver timeouts when a probe confirms that
+ *     the target is unhealthy; any other outcome means the application answered. The circuit opens when
+ *     the share of environment failures in the window reaches the threshold.</li>
+ *     <li>While open, tests are skipped before their browser is started, with the cause of the trip.</li>
+ *     <li>After the open interval, the next test probes the target (half-open): the circuit closes if it
+ *     is healthy, or stays open for another interval.</li>
+ * </ul>
+ * Configured by system properties:
+ * <ul>
+ *     <li>health.breaker - false disables the breaker and the pre-flight probe (default: true)</li>
+ *     <li>health.window - number of recent outcomes considered (default: 20)</li>
+ *     <li>health.min.calls - outcomes needed before the circuit can open (default: 5)</li>
+ *     <li>health.failure.rate - share of environment failures that opens the circuit (default: 0.5)</li>
+ *     <li>health.open.ms - time before a half-open probe (default: 30000)</li>
+ *     <li>health.probe.url - the probed URL (default: 'app.base_url')</li>
+ * </ul>
+ */
+public class EnvironmentCircuitBreaker {
+
+    private static final Logger logger = LogManager.getLogger(EnvironmentCircuitBreaker.class);
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("health.breaker", "true"));
+    private static final int WINDOW = Math.max(1, Integer.getInteger("health.window", 20));
+    private static final int MIN_CALLS = Math.max(1, Math.min(WINDOW, Integer.getInteger("health.min.calls", 5)));
+    private static final double DEFAULT_FAILURE_RATE = 0.5;
+    private static final double FAILURE_RATE = parseFailureRate(System.getProperty("health.failure.rate"));
+    private static final long OPEN_MS = Long.getLong("health.open.ms", 30_000);
+
+    private static final Pattern NETWORK_ERROR = Pattern.compile(
+            "net::ERR_|ERR_CONNECTION|ERR_NAME_NOT_RESOLVED|ERR_TIMED_OUT|ERR_ADDRESS_UNREACHABLE|NS_ERROR_NET|NS_ERROR_CONNECTION_REFUSED|NS_ERROR_UNKNOWN_HOST");
+
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static volatile State state = State.CLOSED;
+    private static volatile String cause;
+    private static long openUntil;
+    private static volatile boolean preflightDone;
+
+    private static final OutcomeWindow window = new OutcomeWindow(WINDOW, MIN_CALLS, FAILURE_RATE);
+
+    private static final LongAdder trips = new LongAdder();
+    private static final LongAdder skipped = new LongAdder();
+
+    private EnvironmentCircuitBreaker() {
+    } // Prevent instantiation
+
+    /**
+     * Lets the current browser test proceed while the circuit is closed. The first call probes the
+     * application (pre-flight check); once the open interval has passed, the target is probed
+     * again first. Other threads wait for the outcome of a probe.
+     *
+     * @throws SkipException if the circuit is open.
+     */
+    public static void checkAdmission() {
+        if (!ENABLED) {
+            return;
+        }
+        if (!preflightDone) {
+            preflight();
+        }
+        if (state == State.CLOSED) {
+            return;
+        }
+        synchronized (EnvironmentCircuitBreaker.class) {
+            if (state == State.OPEN && System.currentTimeMillis() >= openUntil) {
+                state = State.HALF_OPEN;
+                HealthProbe probe = HealthProbe.probe(probeUrl());
+                if (probe.isHealthy()) {
+                    close(probe);
+                } else {
+                    open(probe.getCause());
+                }
+            }
+            if (state != State.CLOSED) {
+                skipped.increment();
+                throw new SkipException("Skipped: environment circuit open, " + cause);
+            }
+        }
+    }
+
+    /**
+     * Records an outcome of a browser test in which the application answered.
+     */
+    public static void recordSuccess() {
+        if (ENABLED && state == State.CLOSED) {
+            synchronized (EnvironmentCircuitBreaker.class) {
+                window.record(false);
+            }
+        }
+    }
+
+    /**
+     * Records a failed browser test or setup; only environment failures count towards opening the circuit.
+     * A WebDriver timeout counts when a probe of the target finds it unhealthy, since a slow page
+     * or a wrong locator times out just the same against a healthy application.
+     *
+     * @param failure The failure cause
+     */
+    public static void recordFailure(Throwable failure) {
+        if (!ENABLED || state != State.CLOSED || failure instanceof SkipException) {
+            return;
+        }
+        boolean environmentFailure = isEnvironmentFailure(failure)
+                || (isTimeout(failure) && !probeUrl().isEmpty() && !HealthProbe.probe(probeUrl()).isHealthy());
+        synchronized (EnvironmentCircuitBreaker.class) {
+            if (window.record(environmentFailure) && state == State.CLOSED) {
+                open(window.getFailures() + " of the last " + window.getCount() + " tests failed on the environment, last: " + failure);
+            }
+        }
+    }
+
+    /**
+     * @return true if the circuit is open, i.e. remaining tests are being skipped.
+     */
+    public static boolean isOpen() {
+        return ENABLED && state != State.CLOSED;
+    }
+
+    /**
+     * @return The cause of the last trip, or null if the circuit never opened.
+     */
+    public static String getCause() {
+        return cause;
+    }
+
+    public static long getTrips() {
+        return trips.sum();
+    }
+
+    public static long getSkipped() {
+        return skipped.sum();
+    }
+
+    /**
+     * Returns whether a failure comes from the environment rather than the application's behaviour:
+     * connection errors, network timeouts or browser network errors anywhere in the cause chain.
+     *
+     * @param failure The failure cause
+     * @return true for environment failures.
+     */
+    public static boolean isEnvironmentFailure(Throwable failure) {
+        for (Throwable current = failure; current != null; current = current.getCause() == current ? null : current.getCause()) {
+            if (current instanceof ConnectException || current instanceof UnknownHostException
+                    || current instanceof NoRouteToHostException || current instanceof SocketTimeoutException
+                    || current instanceof HttpTimeoutException) {
+                return true;
+            }
+            if (current instanceof WebDriverException && current.getMessage() != null
+                    && NETWORK_ERROR.matcher(current.getMessage()).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isTimeout(Throwable failure) {
+        for (Throwable current = failure; current != null; current = current.getCause() == current ? null : current.getCause()) {
+            if (current instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses the share of environment failures that opens the circuit, above 0 and at most 1.
+     *
+     * @param value The property value, or null
+     * @return The failure rate, or 0.5 if the value is missing or invalid.
+     */
+    static double parseFailureRate(String value) {
+        if (value == null) {
+            return DEFAULT_FAILURE_RATE;
+        }
+        try {
+            double rate = Double.parseDouble(value.trim());
+            if (rate > 0 && rate <= 1) {
+                return rate;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        String error = "Invalid health.failure.rate '" + value + "', using " + DEFAULT_FAILURE_RATE;
+        logger.error(error);
+        return DEFAULT_FAILURE_RATE;
+    }
+
+    /**
+     * Probes the application once, before the first browser session, and opens the circuit if it is unhealthy.
+     */
+    private static synchronized void preflight() {
+        if (preflightDone) {
+            return;
+        }
+        preflightDone = true;
+        if (probeUrl().isEmpty()) {
+            return;
+        }
+        HealthProbe probe = HealthProbe.probe(probeUrl());
+        if (probe.isHealthy()) {
+            logger.info("Pre-flight check passed: " + probe);
+        } else {
+            open("pre-flight check failed, " + probe.getCause());
+        }
+    }
+
+    private static void open(String reason) {
+        if (state == State.CLOSED) {
+            trips.increment();
+            cause = reason;
+            String error = "Environment circuit opened, skipping tests for " + OPEN_MS + " ms: " + reason;
+            logger.error(error);
+        } else {
+            cause = reason;
+            logger.warn("Environment still unhealthy, circuit stays open: " + reason);
+        }
+        state = State.OPEN;
+        openUntil = System.currentTimeMillis() + OPEN_MS;
+    }
+
+    private static void close(HealthProbe probe) {
+        state = State.CLOSED;
+        window.clear();
+        logger.info("Environment circuit closed, resuming tests: " + probe);
+    }
+
+    private static String probeUrl() {
+        return System.getProperty("health.probe.url", ConfigManager.getBaseUrl() == null ? "" : ConfigManager.getBaseUrl());
+    }
+}
@@ -0,0 +1,81 @@
+package com.qatoolist.bluejay.core.listeners.health;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * HealthProbe checks the application under test with a plain HTTP request, without a browser.
+ * The target is healthy when it answers with a status below 500 within 'health.probe.slow.ms'
+ * (default 3000); the request gives up after 'health.probe.timeout.ms' (default 5000).
+ */
+public class HealthProbe {
+
+    private static final long TIMEOUT_MS = Long.getLong("health.probe.timeout.ms", 5000);
+    private static final long SLOW_MS = Long.getLong("health.probe.slow.ms", 3000);
+
+    private static final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(TIMEOUT_MS))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    private final boolean healthy;
+    private final String cause;
+    private final long latencyMs;
+
+    private HealthProbe(boolean healthy, String cause, long latencyMs) {
+        this.healthy = healthy;
+        this.cause = cause;
+        this.latencyMs = latencyMs;
+    }
+
+    /**
+     * Probes the given URL.
+     *
+     * @param url The URL to request
+     * @return The probe outcome; never throws.
+     */
+    public static HealthProbe probe(String url) {
+        long start = System.nanoTime();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofMillis(TIMEOUT_MS))
+                    .GET()
+                    .build();
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            long latencyMs = (System.nanoTime() - start) / 1_000_000;
+            if (response.statusCode() >= 500) {
+                return new HealthProbe(false, url + " answered HTTP " + response.statusCode(), latencyMs);
+            }
+            if (latencyMs > SLOW_MS) {
+                return new HealthProbe(false, url + " answered in " + latencyMs + " ms (limit " + SLOW_MS + " ms)", latencyMs);
+            }
+            return new HealthProbe(true, url + " answered HTTP " + response.statusCode(), latencyMs);
+        } catch (IOException | IllegalArgumentException e) {
+            return new HealthProbe(false, url + " unreachable: " + e, (System.nanoTime() - start) / 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new HealthProbe(false, "Probe of " + url + " interrupted", (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public String getCause() {
+        return cause;
+    }
+
+    public long getLatencyMs() {
+        return latencyMs;
+    }
+
+    @Override
+    public String toString() {
+        return (healthy ? "healthy" : "unhealthy") + ": " + cause + " (" + latencyMs + " ms)";
+    }
+}
@@ -0,0 +1,64 @@
+package com.qatoolist.bluejay.core.listeners.health;
+
+/**
+ * OutcomeWindow is the sliding window of recent test outcomes behind the
+ * {@link EnvironmentCircuitBreaker}: it tells whether enough of the last outcomes were
+ * environment failures to open the circuit. It is not thread-safe; the breaker synchronizes
+ * access to its window.
+ */
+class OutcomeWindow {
+
+    private final boolean[] outcomes;
+    private final int minCalls;
+    private final double failureRate;
+    private int count;
+    private int next;
+    private int failures;
+
+    /**
+     * @param size        The number of recent outcomes considered
+     * @param minCalls    The number of outcomes needed before the window can open the circuit
+     * @param failureRate The share of environment failures that opens the circuit
+     */
+    OutcomeWindow(int size, int minCalls, double failureRate) {
+        this.outcomes = new boolean[size];
+        this.minCalls = minCalls;
+        this.failureRate = failureRate;
+    }
+
+    /**
+     * Adds an outcome, replacing the oldest one once the window is full.
+     *
+     * @param environmentFailure true if the outcome is an environment failure
+     * @return true if the window now holds enough environment failures to open the circuit.
+     */
+    boolean record(boolean environmentFailure) {
+        if (count == outcomes.length && outcomes[next]) {
+            failures--;
+        }
+        outcomes[next] = environmentFailure;
+        next = (next + 1) % outcomes.length;
+        count = Math.min(outcomes.length, count + 1);
+        if (environmentFailure) {
+            failures++;
+        }
+        return count >= minCalls && failures >= failureRate * count;
+    }
+
+    /**
+     * Forgets the recorded outcomes.
+     */
+    void clear() {
+        count = 0;
+        next = 0;
+        failures = 0;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    int getFailures() {
+        return failures;
+    }
+}
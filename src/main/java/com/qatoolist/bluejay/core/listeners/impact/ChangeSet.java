@@ -0,0 +1,266 @@
+package com.qatoolist.bluejay.core.listeners.impact;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ChangeSet describes the files changed against a base git ref, as reported by
+ * 'git diff', plus the untracked files of the working tree, and decides which recorded
+ * tests those changes affect.
+ * <p>
+ * A test is affected when its own class or one of its superclasses changed, or when one of
+ * the page classes, data files or configuration keys it used during the recording run changed.
+ * Changes to framework sources or build files (see 'test.selection.fullRunPaths')
+ * that do not map to a recorded page class affect every test, and so do changes to shared
+ * test code: classes under src/test/java that hold no tests and are not recorded pages.
+ */
+public class ChangeSet {
+
+    private static final String CONFIG_DIR = "src/test/resources/config/";
+    private static final String TEST_SOURCE_ROOT = "src/test/java/";
+    private static final List<String> SOURCE_ROOTS = Arrays.asList("src/main/java/", "src/test/java/");
+    private static final List<String> FULL_RUN_PATHS = Arrays.asList(
+            System.getProperty("test.selection.fullRunPaths", "src/main/,build.gradle.kts,settings.gradle.kts,testng.xml").split(","));
+
+    private static final Logger logger = LogManager.getLogger(ChangeSet.class);
+
+    private final Set<String> changedFiles = new HashSet<>();
+    private final Map<String, String> changedClasses = new HashMap<>();
+    private final Set<String> changedConfigKeys = new HashSet<>();
+
+    private ChangeSet() {
+    }
+
+    /**
+     * Builds a ChangeSet from the working tree differences against the given base ref. Untracked
+     * files that are not ignored count as changed; every key of an untracked configuration file
+     * counts as changed.
+     *
+     * @param baseRef The git ref to diff against (e.g. "origin/main")
+     * @return The ChangeSet for the current working tree.
+     * @throws IOException if git cannot be run or exits with an error.
+     */
+    public static ChangeSet fromGitDiff(String baseRef) throws IOException {
+        ChangeSet changeSet = new ChangeSet();
+        Set<String> untracked = new HashSet<>();
+        for (String file : git("ls-files", "--others", "--exclude-standard", "--full-name")) {
+            untracked.add(file.trim());
+        }
+        for (String file : git("diff", "--name-only", baseRef)) {
+            changeSet.addChangedFile(file.trim());
+        }
+        untracked.forEach(changeSet::addChangedFile);
+
+        for (String file : changeSet.changedFiles) {
+            if (file.startsWith(CONFIG_DIR) && file.endsWith(".properties")) {
+                List<String> diffLines = untracked.contains(file) ? addedLines(Paths.get(file)) : git("diff", "-U0", baseRef, "--", file);
+                changeSet.changedConfigKeys.addAll(changedKeys(diffLines));
+            }
+        }
+        return changeSet;
+    }
+
+    /**
+     * Builds a ChangeSet from a list of changed files, without configuration key changes.
+     *
+     * @param files The changed file paths, relative to the project directory
+     * @return The ChangeSet.
+     */
+    static ChangeSet of(Collection<String> files) {
+        ChangeSet changeSet = new ChangeSet();
+        files.forEach(changeSet::addChangedFile);
+        return changeSet;
+    }
+
+    private void addChangedFile(String file) {
+        if (file.isEmpty()) {
+            return;
+        }
+        changedFiles.add(file);
+        for (String root : SOURCE_ROOTS) {
+            if (file.startsWith(root) && file.endsWith(".java")) {
+                changedClasses.put(file, file.substring(root.length(), file.length() - ".java".length()).replace('/', '.'));
+            }
+        }
+    }
+
+    /**
+     * Returns the lines of a new file as the added lines of a unified diff.
+     */
+    private static List<String> addedLines(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.ISO_8859_1)) {
+            lines.add("+" + line);
+        }
+        return lines;
+    }
+
+    /**
+     * Extracts the configuration keys touched by the added or removed lines of a unified diff.
+     */
+    static Set<String> changedKeys(List<String> diffLines) {
+        Set<String> keys = new HashSet<>();
+        for (String line : diffLines) {
+            boolean changedLine = (line.startsWith("+") && !line.startsWith("+++"))
+                    || (line.startsWith("-") && !line.startsWith("---"));
+            if (!changedLine) {
+                continue;
+            }
+            String content = line.substring(1).trim();
+            if (content.isEmpty() || content.startsWith("#") || content.startsWith("!")) {
+                continue;
+            }
+            int separator = indexOfSeparator(content);
+            keys.add((separator < 0 ? content : content.substring(0, separator)).trim());
+        }
+        return keys;
+    }
+
+    private static int indexOfSeparator(String content) {
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c == '=' || c == ':' || Character.isWhitespace(c)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static List<String> git(String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(Arrays.asList(args));
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        try {
+            if (process.waitFor() != 0) {
+                throw new IOException("'" + String.join(" ", command) + "' failed: " + String.join("\n", lines));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Preserve interrupted status
+            throw new IOException("Interrupted while running git", e);
+        }
+        return lines;
+    }
+
+    /**
+     * Decides, once the recorded page classes are known, whether any change forces a full run:
+     * a changed file under one of the full-run paths that is not a recorded page class, or a
+     * changed test source class that is neither a recorded page nor a test class (a shared helper).
+     * Test sources that no longer exist are left out, since no remaining test can use them.
+     *
+     * @param map The impact map of the recording run
+     * @return true if every test must run, false otherwise.
+     */
+    public boolean requiresFullRun(ImpactMap map) {
+        Set<String> recordedPages = new HashSet<>();
+        map.forEachUsage(usage -> {
+            if (usage.startsWith(ImpactMap.PAGE_PREFIX)) {
+                recordedPages.add(topLevelClass(usage.substring(ImpactMap.PAGE_PREFIX.length())));
+            }
+        });
+        for (String file : changedFiles) {
+            boolean fullRunPath = FULL_RUN_PATHS.stream().map(String::trim).anyMatch(path -> !path.isEmpty() && file.startsWith(path));
+            if (fullRunPath && !recordedPages.contains(changedClasses.get(file))) {
+                logger.info("Change to '" + file + "' affects all tests");
+                return true;
+            }
+            if (file.startsWith(TEST_SOURCE_ROOT) && changedClasses.containsKey(file)
+                    && !recordedPages.contains(changedClasses.get(file)) && isSharedTestCode(changedClasses.get(file))) {
+                logger.info("Change to shared test code '" + file + "' affects all tests");
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether a test source class holds no test methods, i.e. is used by other tests.
+     */
+    private static boolean isSharedTestCode(String className) {
+        Class<?> type;
+        try {
+            type = Class.forName(className, false, Thread.currentThread().getContextClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false; // Deleted
+        }
+        if (type.isAnnotationPresent(Test.class)) {
+            return false;
+        }
+        for (Method method : type.getMethods()) {
+            if (method.isAnnotationPresent(Test.class)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the given recorded test is affected by this ChangeSet.
+     *
+     * @param testClass The test class
+     * @param usages    The usages recorded for the test
+     * @return true if the test must run, false otherwise.
+     */
+    public boolean affects(Class<?> testClass, Set<String> usages) {
+        for (Class<?> type = testClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            if (changedClasses.containsValue(topLevelClass(type.getName()))) {
+                return true;
+            }
+        }
+        for (String usage : usages) {
+            if (usage.startsWith(ImpactMap.PAGE_PREFIX)
+                    && changedClasses.containsValue(topLevelClass(usage.substring(ImpactMap.PAGE_PREFIX.length())))) {
+                return true;
+            }
+            if (usage.startsWith(ImpactMap.DATA_PREFIX)
+                    && changedFiles.contains(usage.substring(ImpactMap.DATA_PREFIX.length()))) {
+                return true;
+            }
+            if (usage.startsWith(ImpactMap.CONFIG_PREFIX)
+                    && changedConfigKeys.contains(usage.substring(ImpactMap.CONFIG_PREFIX.length()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether the diff is empty.
+     *
+     * @return true if no file changed, false otherwise.
+     */
+    public boolean isEmpty() {
+        return changedFiles.isEmpty();
+    }
+
+    private static String topLevelClass(String className) {
+        int nested = className.indexOf('$');
+        return nested < 0 ? className : className.substring(0, nested);
+    }
+}
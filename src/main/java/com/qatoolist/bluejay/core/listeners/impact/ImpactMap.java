@@ -0,0 +1,151 @@
+package com.qatoolist.bluejay.core.listeners.impact;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * ImpactMap associates each recorded test with the page classes, data files and configuration
+ * keys it used. It is stored as a properties file, one test per key, with the usages as a
+ * comma-separated list of prefixed entries (e.g. "page:com.acme.LoginPage").
+ */
+public class ImpactMap {
+
+    static final String PAGE_PREFIX = "page:";
+    static final String DATA_PREFIX = "data:";
+    static final String CONFIG_PREFIX = "config:";
+
+    private final Map<String, Set<String>> usagesByTest = new TreeMap<>();
+
+    /**
+     * Builds the identifier used for a test method in the impact map.
+     *
+     * @param testClass  The test class
+     * @param methodName The test method name
+     * @return The test identifier, in the form "fully.qualified.Class#method".
+     */
+    public static String testId(Class<?> testClass, String methodName) {
+        return testClass.getName() + "#" + methodName;
+    }
+
+    /**
+     * Normalizes a file path to a forward-slash path relative to the working directory,
+     * so paths from @DataFile and from git can be compared.
+     *
+     * @param fileName The file path
+     * @return The normalized path.
+     */
+    static String normalizePath(String fileName) {
+        Path path = Paths.get(fileName).normalize();
+        if (path.isAbsolute()) {
+            Path workingDir = Paths.get("").toAbsolutePath();
+            if (path.startsWith(workingDir)) {
+                path = workingDir.relativize(path);
+            }
+        }
+        return path.toString().replace('\\', '/');
+    }
+
+    /**
+     * Loads an impact map from the given file. Returns an empty map if the file does not exist.
+     *
+     * @param file The impact map file
+     * @return The loaded ImpactMap.
+     * @throws IOException if the file exists but cannot be read.
+     */
+    public static ImpactMap load(Path file) throws IOException {
+        ImpactMap map = new ImpactMap();
+        if (Files.exists(file)) {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            for (String testId : properties.stringPropertyNames()) {
+                Set<String> usages = Arrays.stream(properties.getProperty(testId).split(","))
+                        .map(String::trim)
+                        .filter(usage -> !usage.isEmpty())
+                        .collect(Collectors.toCollection(TreeSet::new));
+                map.usagesByTest.put(testId, usages);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Writes the impact map to the given file, creating parent directories if needed.
+     *
+     * @param file The target file
+     * @throws IOException if the file cannot be written.
+     */
+    public void store(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Properties properties = new Properties();
+        usagesByTest.forEach((testId, usages) -> properties.setProperty(testId, String.join(",", usages)));
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            properties.store(writer, "Test impact map - generated with -Dtest.selection=record");
+        }
+    }
+
+    /**
+     * Replaces the recorded usages of a test.
+     *
+     * @param testId The test identifier
+     * @param usages The prefixed usage entries
+     */
+    public void put(String testId, Set<String> usages) {
+        usagesByTest.put(testId, new TreeSet<>(usages));
+    }
+
+    /**
+     * Returns whether the map contains an entry for the given test.
+     *
+     * @param testId The test identifier
+     * @return true if the test was recorded, false otherwise.
+     */
+    public boolean contains(String testId) {
+        return usagesByTest.containsKey(testId);
+    }
+
+    /**
+     * Returns the recorded usages of a test.
+     *
+     * @param testId The test identifier
+     * @return The prefixed usage entries, or an empty set if the test was not recorded.
+     */
+    public Set<String> getUsages(String testId) {
+        return usagesByTest.getOrDefault(testId, Collections.emptySet());
+    }
+
+    /**
+     * Passes every usage entry of every recorded test to the given consumer.
+     *
+     * @param consumer The consumer of usage entries
+     */
+    public void forEachUsage(Consumer<String> consumer) {
+        usagesByTest.values().forEach(usages -> usages.forEach(consumer));
+    }
+
+    /**
+     * Returns whether the map has no recorded tests.
+     *
+     * @return true if no test was recorded, false otherwise.
+     */
+    public boolean isEmpty() {
+        return usagesByTest.isEmpty();
+    }
+}
@@ -0,0 +1,162 @@
+package com.qatoolist.bluejay.core.listeners.impact;
+
+import com.qatoolist.bluejay.core.listeners.index.TestIndex;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TestImpactRecorder collects, per test method, the page classes, data files and configuration
+ * keys used while the test runs. Recording is only active when the selection mode
+ * ('test.selection') is 'record'; otherwise every hook is a cheap no-op.
+ * The collected usages are merged into the impact map file at the end of the suite.
+ */
+public class TestImpactRecorder {
+
+    public static final String SELECTION_MODE = System.getProperty("test.selection", "all").toLowerCase();
+    public static final String IMPACT_FILE = System.getProperty("test.impact.file", "build/test-impact/impact-map.properties");
+
+    private static final boolean RECORDING = "record".equals(SELECTION_MODE);
+    private static final ThreadLocal<Set<String>> currentUsages = new ThreadLocal<>();
+    private static final Map<String, Set<String>> recordedUsages = new ConcurrentHashMap<>();
+
+    private static final Logger logger = LogManager.getLogger(TestImpactRecorder.class);
+
+    static {
+        currentUsages.remove();
+    }
+
+    private TestImpactRecorder() {
+    } // Prevent instantiation
+
+    /**
+     * Returns whether usages are being recorded for this run.
+     *
+     * @return true if the selection mode is 'record', false otherwise.
+     */
+    public static boolean isRecording() {
+        return RECORDING;
+    }
+
+    /**
+     * Starts collecting usages on the current thread before a @BeforeMethod runs. Its usages are
+     * attributed to the test that follows (see {@link #startTest}); several @BeforeMethod methods
+     * of the same test share one collection.
+     */
+    public static void startSetup() {
+        if (RECORDING && currentUsages.get() == null) {
+            currentUsages.set(ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * Starts collecting usages for the given test on the current thread, including those
+     * collected by its @BeforeMethod methods since {@link #startSetup}.
+     *
+     * @param testClass  The test class
+     * @param testMethod The test method
+     */
+    public static void startTest(Class<?> testClass, Method testMethod) {
+        if (RECORDING) {
+            Set<String> usages = usagesOf(testClass, testMethod);
+            Set<String> setupUsages = currentUsages.get();
+            if (setupUsages != null && setupUsages != usages) {
+                usages.addAll(setupUsages);
+            }
+            currentUsages.set(usages);
+        }
+    }
+
+    /**
+     * Records the @DataFile of a test when its data provider is invoked. TestNG invokes data
+     * providers before the test or its @BeforeMethod starts, so the file is attributed to the
+     * test directly rather than through the current thread.
+     *
+     * @param testClass  The test class
+     * @param testMethod The test method
+     */
+    public static void recordDataProvider(Class<?> testClass, Method testMethod) {
+        if (RECORDING) {
+            String dataFile = TestIndex.get(testMethod).getDataFile();
+            if (dataFile != null) {
+                usagesOf(testClass, testMethod).add(ImpactMap.DATA_PREFIX + ImpactMap.normalizePath(dataFile));
+            }
+        }
+    }
+
+    /**
+     * Stops collecting usages on the current thread.
+     */
+    public static void finishTest() {
+        if (RECORDING) {
+            currentUsages.remove();
+        }
+    }
+
+    /**
+     * Records that the current test constructed the given page class.
+     *
+     * @param pageClass The page object class
+     */
+    public static void recordPage(Class<?> pageClass) {
+        record(ImpactMap.PAGE_PREFIX, pageClass.getName());
+    }
+
+    /**
+     * Records that the current test read the given data file.
+     *
+     * @param fileName The data file path, as declared in @DataFile
+     */
+    public static void recordDataFile(String fileName) {
+        record(ImpactMap.DATA_PREFIX, ImpactMap.normalizePath(fileName));
+    }
+
+    /**
+     * Records that the current test read the given configuration key.
+     *
+     * @param key The configuration key
+     */
+    public static void recordConfigKey(String key) {
+        record(ImpactMap.CONFIG_PREFIX, key);
+    }
+
+    private static Set<String> usagesOf(Class<?> testClass, Method testMethod) {
+        return recordedUsages.computeIfAbsent(ImpactMap.testId(testClass, testMethod.getName()), id -> ConcurrentHashMap.newKeySet());
+    }
+
+    private static void record(String prefix, String value) {
+        if (RECORDING) {
+            Set<String> usages = currentUsages.get();
+            if (usages != null) {
+                usages.add(prefix + value);
+            }
+        }
+    }
+
+    /**
+     * Merges the usages recorded in this run into the impact map file. Entries of tests
+     * that did not run are kept, so partial recording runs refine an existing map.
+     */
+    public static void save() {
+        if (!RECORDING || recordedUsages.isEmpty()) {
+            return;
+        }
+        Path file = Paths.get(IMPACT_FILE);
+        try {
+            ImpactMap map = ImpactMap.load(file);
+            recordedUsages.forEach(map::put);
+            map.store(file);
+            logger.info("Recorded test impact for " + recordedUsages.size() + " tests in " + file.toAbsolutePath());
+        } catch (IOException e) {
+            String error = "Failed to save test impact map: " + e.getMessage();
+            logger.error(error);
+        }
+    }
+}
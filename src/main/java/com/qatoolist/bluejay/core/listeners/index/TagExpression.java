@@ -0,0 +1,123 @@
+package com.qatoolist.bluejay.core.listeners.index;
+
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * TagExpression is a boolean filter over test tags (TestNG groups), compiled once into a
+ * predicate. Supported syntax: tag names, '!' (not), '&amp;' (and), '|' (or) and parentheses,
+ * e.g. "smoke &amp; !slow" or "(checkout | payments) &amp; !flaky".
+ * An empty expression matches every test.
+ */
+public class TagExpression {
+
+    private final String source;
+    private final Predicate<Set<String>> predicate;
+    private int position;
+
+    private TagExpression(String source) {
+        this.source = source;
+        this.predicate = source.trim().isEmpty() ? tags -> true : parse();
+    }
+
+    /**
+     * Compiles a tag expression.
+     *
+     * @param expression The expression (may be null or empty)
+     * @return The compiled TagExpression.
+     * @throws IllegalArgumentException if the expression is malformed.
+     */
+    public static TagExpression compile(String expression) {
+        return new TagExpression(expression == null ? "" : expression);
+    }
+
+    /**
+     * Evaluates the expression against the tags of a test.
+     *
+     * @param tags The tags of the test
+     * @return true if the tags satisfy the expression, false otherwise.
+     */
+    public boolean matches(Set<String> tags) {
+        return predicate.test(tags);
+    }
+
+    private Predicate<Set<String>> parse() {
+        Predicate<Set<String>> result = parseOr();
+        skipWhitespace();
+        if (position < source.length()) {
+            throw error("Unexpected '" + source.charAt(position) + "'");
+        }
+        return result;
+    }
+
+    private Predicate<Set<String>> parseOr() {
+        Predicate<Set<String>> left = parseAnd();
+        while (accept('|')) {
+            left = left.or(parseAnd());
+        }
+        return left;
+    }
+
+    private Predicate<Set<String>> parseAnd() {
+        Predicate<Set<String>> left = parseNot();
+        while (accept('&')) {
+            left = left.and(parseNot());
+        }
+        return left;
+    }
+
+    private Predicate<Set<String>> parseNot() {
+        if (accept('!')) {
+            return parseNot().negate();
+        }
+        if (accept('(')) {
+            Predicate<Set<String>> inner = parseOr();
+            if (!accept(')')) {
+                throw error("Missing ')'");
+            }
+            return inner;
+        }
+        return parseTag();
+    }
+
+    private Predicate<Set<String>> parseTag() {
+        skipWhitespace();
+        int start = position;
+        while (position < source.length() && isTagChar(source.charAt(position))) {
+            position++;
+        }
+        if (start == position) {
+            throw error("Expected a tag");
+        }
+        String tag = source.substring(start, position);
+        return tags -> tags.contains(tag);
+    }
+
+    private static boolean isTagChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.' || c == ':';
+    }
+
+    private boolean accept(char expected) {
+        skipWhitespace();
+        if (position < source.length() && source.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position + " in tag expression: " + source);
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -0,0 +1,148 @@
+package com.qatoolist.bluejay.core.listeners.index;
+
+import com.qatoolist.bluejay.core.listeners.interceptor.RunIf;
+import com.qatoolist.bluejay.core.listeners.retry.Retry;
+import com.qatoolist.bluejay.core.utils.providers.DataFile;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * TestIndex provides the test metadata ({@link TestMetadata}) of test methods. Metadata is read
+ * from the index written at compile time by TestIndexProcessor (src/processor); for classes that were
+ * compiled without the processor, it falls back to reflecting over the method annotations.
+ * Metadata is computed once per method and cached.
+ */
+public class TestIndex {
+
+    static final String RESOURCE = "META-INF/bluejay/test-index.properties";
+
+    static final String INDEXED = ".indexed";
+    static final String ENVIRONMENTS = ".runIf";
+    static final String RETRY = ".retry";
+    static final String DATA_FILE = ".dataFile";
+    static final String GROUPS = ".groups";
+
+    private static final Logger logger = LogManager.getLogger(TestIndex.class);
+
+    private static final Properties index = loadIndex();
+    private static final Map<Method, TestMetadata> cache = new ConcurrentHashMap<>();
+
+    private TestIndex() {
+    } // Prevent instantiation
+
+    /**
+     * Builds the index key of a test method. The parameter types are part of the key, so
+     * overloaded methods have their own entries; TestIndexProcessor writes keys in the same form.
+     *
+     * @param method The test method
+     * @return The index key, in the form "fully.qualified.Class#method(java.lang.String,int[])".
+     */
+    static String key(Method method) {
+        return method.getDeclaringClass().getName() + "#" + method.getName() + Arrays.stream(method.getParameterTypes())
+                .map(Class::getTypeName)
+                .collect(Collectors.joining(",", "(", ")"));
+    }
+
+    /**
+     * Returns the metadata of the given test method.
+     *
+     * @param method The test method
+     * @return The TestMetadata of the method.
+     */
+    public static TestMetadata get(Method method) {
+        return cache.computeIfAbsent(method, TestIndex::lookup);
+    }
+
+    private static TestMetadata lookup(Method method) {
+        String className = method.getDeclaringClass().getName();
+        if (!index.containsKey(className + INDEXED)) {
+            return reflect(method);
+        }
+
+        String key = key(method);
+        Set<String> groups = split(index.getProperty(className + GROUPS));
+        groups.addAll(split(index.getProperty(key + GROUPS)));
+
+        int maxRetries = 0;
+        long backoffTimeMs = 0;
+        String retry = index.getProperty(key + RETRY);
+        boolean retryPresent = retry != null;
+        if (retryPresent) {
+            String[] parts = retry.split(":");
+            maxRetries = Integer.parseInt(parts[0]);
+            backoffTimeMs = Long.parseLong(parts[1]);
+        }
+
+        return new TestMetadata(split(index.getProperty(key + ENVIRONMENTS)), groups, retryPresent,
+                maxRetries, backoffTimeMs, index.getProperty(key + DATA_FILE));
+    }
+
+    private static TestMetadata reflect(Method method) {
+        Set<String> environments = new LinkedHashSet<>();
+        RunIf runIf = method.getAnnotation(RunIf.class);
+        if (runIf != null) {
+            environments.addAll(Arrays.asList(runIf.environment()));
+        }
+
+        Set<String> groups = new LinkedHashSet<>();
+        Test classTest = method.getDeclaringClass().getAnnotation(Test.class);
+        if (classTest != null) {
+            groups.addAll(Arrays.asList(classTest.groups()));
+        }
+        Test test = method.getAnnotation(Test.class);
+        if (test != null) {
+            groups.addAll(Arrays.asList(test.groups()));
+        }
+
+        Retry retry = method.getAnnotation(Retry.class);
+        DataFile dataFile = method.getAnnotation(DataFile.class);
+        return new TestMetadata(environments, groups, retry != null,
+                retry != null ? retry.maxRetries() : 0, retry != null ? retry.backoffTimeMs() : 0,
+                dataFile != null ? dataFile.value() : null);
+    }
+
+    private static Set<String> split(String value) {
+        if (value == null || value.isEmpty()) {
+            return new LinkedHashSet<>();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Loads and merges every index resource on the classpath.
+     */
+    private static Properties loadIndex() {
+        Properties merged = new Properties();
+        try {
+            Enumeration<URL> resources = TestIndex.class.getClassLoader().getResources(RESOURCE);
+            for (URL resource : Collections.list(resources)) {
+                try (InputStream stream = resource.openStream()) {
+                    merged.load(stream);
+                }
+            }
+        } catch (IOException e) {
+            String error = "Failed to read test index, falling back to reflection: " + e.getMessage();
+            logger.warn(error);
+            merged.clear();
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,84 @@
+package com.qatoolist.bluejay.core.listeners.index;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * TestMetadata holds the framework annotations and TestNG groups of a single test method,
+ * as provided by {@link TestIndex}.
+ */
+public class TestMetadata {
+
+    private final Set<String> environments;
+    private final Set<String> groups;
+    private final boolean retryPresent;
+    private final int maxRetries;
+    private final long backoffTimeMs;
+    private final String dataFile;
+
+    TestMetadata(Set<String> environments, Set<String> groups, boolean retryPresent,
+                 int maxRetries, long backoffTimeMs, String dataFile) {
+        this.environments = Collections.unmodifiableSet(environments.stream()
+                .map(String::toLowerCase)
+                .collect(Collectors.toSet()));
+        this.groups = Collections.unmodifiableSet(groups);
+        this.retryPresent = retryPresent;
+        this.maxRetries = maxRetries;
+        this.backoffTimeMs = backoffTimeMs;
+        this.dataFile = dataFile;
+    }
+
+    /**
+     * Checks whether the method may run in the given environment, i.e. it has no `RunIf`
+     * annotation or lists the environment (case-insensitive).
+     *
+     * @param environment The current environment name
+     * @return true if the method may run, false otherwise.
+     */
+    public boolean runsIn(String environment) {
+        return environments.isEmpty() || environments.contains(environment.toLowerCase());
+    }
+
+    /**
+     * @return The lower-cased environments from `RunIf`, or an empty set if the method runs everywhere.
+     */
+    public Set<String> getEnvironments() {
+        return environments;
+    }
+
+    /**
+     * @return The TestNG groups (tags) of the method, including class-level groups.
+     */
+    public Set<String> getGroups() {
+        return groups;
+    }
+
+    /**
+     * @return true if the method is annotated with `Retry`, false otherwise.
+     */
+    public boolean hasRetry() {
+        return retryPresent;
+    }
+
+    /**
+     * @return The maximum number of retries from `Retry`, or 0 if not annotated.
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * @return The backoff time in milliseconds from `Retry`, or 0 if not annotated.
+     */
+    public long getBackoffTimeMs() {
+        return backoffTimeMs;
+    }
+
+    /**
+     * @return The data file path from `DataFile`, or null if not annotated.
+     */
+    public String getDataFile() {
+        return dataFile;
+    }
+}
@@ -6,9 +6,11 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * The RunIf annotation is used to conditionally execute methods based on a specified
+ * The RunIf annotation is used to conditionally execute methods based on the current
  * environment. Methods annotated with RunIf will only be executed if the current environment
- * matches the value provided in the 'environment' attribute.
+ * matches one of the values provided in the 'environment' attribute (case-insensitive).
+ * The current environment is 'test.environment' if set, otherwise 'AUTO_ENV' (see ConfigManager),
+ * so RunIf follows the environment whose configuration the run loads.
  *
  */
 @Retention(RetentionPolicy.RUNTIME)
@@ -16,10 +18,11 @@ import java.lang.annotation.Target;
 public @interface RunIf {
 
     /**
-     * Specifies the environment in which the annotated method should be executed.
-     * Must be a non-empty string.
+     * Specifies the environments in which the annotated method should be executed,
+     * e.g. {@code @RunIf(environment = "qa")} or {@code @RunIf(environment = {"qa", "stage"})}.
+     * Values must be non-empty strings.
      *
-     * @return The environment name
+     * @return The environment names
      */
-    String environment();
+    String[] environment();
 }
@@ -1,21 +1,58 @@
 package com.qatoolist.bluejay.core.listeners.interceptor;
 
+import com.qatoolist.bluejay.core.config.ConfigManager;
+import com.qatoolist.bluejay.core.listeners.checkpoint.RunCheckpoint;
+import com.qatoolist.bluejay.core.listeners.impact.ChangeSet;
+import com.qatoolist.bluejay.core.listeners.impact.ImpactMap;
+import com.qatoolist.bluejay.core.listeners.impact.TestImpactRecorder;
+import com.qatoolist.bluejay.core.listeners.index.TagExpression;
+import com.qatoolist.bluejay.core.listeners.index.TestIndex;
+import com.qatoolist.bluejay.core.listeners.index.TestMetadata;
+import com.qatoolist.bluejay.core.listeners.shard.ShardSelector;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
 import org.testng.IMethodInstance;
 import org.testng.IMethodInterceptor;
 import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * TestMethodInterceptor intercepts TestNG test methods and conditionally executes them
- * based on the presence and value of the `RunIf` annotation.
+ * based on the presence and value of the `RunIf` annotation and, when 'test.tags' is set,
+ * on a tag expression over the TestNG groups of each method (see {@link TagExpression}).
+ * Annotations are read from the compile-time {@link TestIndex} rather than by reflection.
+ * <p>
+ * When the selection mode ('test.selection') is 'impacted', only the tests affected by the
+ * changes reported by 'git diff' against 'test.selection.base' (default: "origin/main") are
+ * kept, together with the tests listed in 'test.selection.always' and any test missing from
+ * the impact map recorded by a previous '-Dtest.selection=record' run.
+ * <p>
+ * When 'shard.count' is greater than 1, the remaining methods are split across JVM shards
+ * and only those of 'shard.index' are kept (see {@link ShardSelector}).
+ * <p>
+ * When an interrupted run is resumed ('run.resume'), the methods and data rows that already
+ * passed in that run are dropped (see {@link RunCheckpoint}).
  */
-public class TestMethodInterceptor implements IMethodInterceptor {
+public class TestMethodInterceptor implements IMethodInterceptor, IDataProviderInterceptor {
+
+    private static final Logger logger = LogManager.getLogger(TestMethodInterceptor.class);
+
+    private static final TagExpression tagFilter = TagExpression.compile(System.getProperty("test.tags", ""));
 
     /**
      * Intercepts a list of TestNG method instances, filtering and modifying the list for execution
-     * based on `RunIf` annotations and the current environment.
+     * based on `RunIf` annotations, the current environment and the tag filter.
      *
      * @param methods The original list of TestNG method instances
      * @param context The TestNG test context
@@ -23,22 +60,128 @@ public class TestMethodInterceptor implements IMethodInterceptor {
      */
     @Override
     public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
-        String currentEnvironment = System.getProperty("test.environment", "dev");
+        String currentEnvironment = System.getProperty("test.environment", ConfigManager.getEnv());
 
         List<IMethodInstance> result = new ArrayList<>();
 
         for (IMethodInstance method : methods) {
-            RunIf runIfAnnotation = method.getMethod().getConstructorOrMethod().getMethod().getAnnotation(RunIf.class);
+            TestMetadata metadata = TestIndex.get(method.getMethod().getConstructorOrMethod().getMethod());
 
-            if (runIfAnnotation != null) {
-                if (runIfAnnotation.environment().equalsIgnoreCase(currentEnvironment)) {
-                    result.add(method);
-                }
-            } else {
-                result.add(method); // Include methods without RunIf by default
+            // Methods without RunIf run in every environment
+            if (metadata.runsIn(currentEnvironment) && tagFilter.matches(metadata.getGroups())) {
+                result.add(method);
             }
         }
 
+        if ("impacted".equals(TestImpactRecorder.SELECTION_MODE)) {
+            result = selectImpacted(result);
+        }
+
+        if (ShardSelector.isEnabled()) {
+            result = ShardSelector.select(result);
+        }
+
+        if (RunCheckpoint.isResuming()) {
+            result = skipPassed(result);
+        }
+
         return result;
     }
-}
\ No newline at end of file
+
+    /**
+     * Attributes the test's data file to it when recording test impact, and drops the data rows
+     * that already passed in the resumed run.
+     *
+     * @param original           The rows returned by the data provider
+     * @param dataProviderMethod The data provider
+     * @param method             The test method
+     * @param iTestContext       The TestNG test context
+     * @return The rows left to run.
+     */
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod,
+                                        ITestNGMethod method, ITestContext iTestContext) {
+        TestImpactRecorder.recordDataProvider(method.getRealClass(), method.getConstructorOrMethod().getMethod());
+        if (!RunCheckpoint.isResuming()) {
+            return original;
+        }
+        String testId = ImpactMap.testId(method.getRealClass(), method.getMethodName());
+        List<Object[]> remaining = new ArrayList<>();
+        int skipped = 0;
+        while (original.hasNext()) {
+            Object[] row = original.next();
+            if (RunCheckpoint.hasPassed(testId, RunCheckpoint.rowKey(row))) {
+                skipped++;
+            } else {
+                remaining.add(row);
+            }
+        }
+        if (skipped > 0) {
+            logger.info("Resuming run " + RunCheckpoint.getRunId() + ": skipping " + skipped + " passed rows of " + testId);
+        }
+        return remaining.iterator();
+    }
+
+    /**
+     * Drops the methods without data rows that already passed in the resumed run. Data-driven
+     * methods are kept; their passed rows are dropped when the data provider runs.
+     */
+    private List<IMethodInstance> skipPassed(List<IMethodInstance> methods) {
+        List<IMethodInstance> remaining = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            ITestNGMethod testMethod = method.getMethod();
+            if (!RunCheckpoint.hasPassed(ImpactMap.testId(testMethod.getRealClass(), testMethod.getMethodName()), "")) {
+                remaining.add(method);
+            }
+        }
+        logger.info("Resuming run " + RunCheckpoint.getRunId() + ": running " + remaining.size()
+                + " of " + methods.size() + " tests");
+        return remaining;
+    }
+
+    /**
+     * Keeps only the methods affected by the local changes. Falls back to running every method
+     * if the impact map is missing or git cannot be queried.
+     */
+    private List<IMethodInstance> selectImpacted(List<IMethodInstance> methods) {
+        ImpactMap map;
+        ChangeSet changes;
+        String baseRef = System.getProperty("test.selection.base", "origin/main");
+        try {
+            map = ImpactMap.load(Paths.get(TestImpactRecorder.IMPACT_FILE));
+            changes = ChangeSet.fromGitDiff(baseRef);
+        } catch (IOException e) {
+            String error = "Change-based selection unavailable, running all tests: " + e.getMessage();
+            logger.warn(error);
+            return methods;
+        }
+        if (map.isEmpty()) {
+            logger.warn("No test impact map found at " + TestImpactRecorder.IMPACT_FILE + ", running all tests");
+            return methods;
+        }
+        if (changes.requiresFullRun(map)) {
+            return methods;
+        }
+
+        Set<String> alwaysRun = Arrays.stream(System.getProperty("test.selection.always", "").split(","))
+                .map(String::trim)
+                .filter(entry -> !entry.isEmpty())
+                .collect(Collectors.toSet());
+
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            ITestNGMethod testMethod = method.getMethod();
+            Class<?> testClass = testMethod.getRealClass();
+            String testId = ImpactMap.testId(testClass, testMethod.getMethodName());
+
+            boolean always = alwaysRun.contains(testId) || alwaysRun.contains(testClass.getName())
+                    || alwaysRun.contains(testClass.getSimpleName());
+            if (always || !map.contains(testId) || changes.affects(testClass, map.getUsages(testId))) {
+                selected.add(method);
+            }
+        }
+        logger.info("Change-based selection against '" + baseRef + "': running " + selected.size()
+                + " of " + methods.size() + " tests");
+        return selected;
+    }
+}
@@ -1,5 +1,8 @@
 package com.qatoolist.bluejay.core.listeners.retry;
 
+import com.qatoolist.bluejay.core.listeners.health.EnvironmentCircuitBreaker;
+import com.qatoolist.bluejay.core.listeners.index.TestIndex;
+import com.qatoolist.bluejay.core.listeners.index.TestMetadata;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.testng.IRetryAnalyzer;
@@ -7,7 +10,8 @@ import org.testng.ITestResult;
 
 /**
  * RetryAnalyzer provides a mechanism to retry TestNG tests annotated with the custom @Retry annotation.
- * It takes into account the maxRetries and backoffTimeMs set on the annotation.
+ * It takes into account the maxRetries and backoffTimeMs set on the annotation. Tests are not retried
+ * while the environment circuit is open (see {@link EnvironmentCircuitBreaker}).
  */
 public class RetryAnalyzer implements IRetryAnalyzer {
 
@@ -23,11 +27,16 @@ public class RetryAnalyzer implements IRetryAnalyzer {
      */
     @Override
     public boolean retry(ITestResult result) {
-        Retry retryAnnotation = result.getMethod().getConstructorOrMethod().getMethod().getAnnotation(Retry.class);
+        TestMetadata metadata = TestIndex.get(result.getMethod().getConstructorOrMethod().getMethod());
 
-        if (retryAnnotation != null) {
-            int maxRetries = retryAnnotation.maxRetries();
-            long backoffTimeMs = retryAnnotation.backoffTimeMs();
+        if (metadata.hasRetry() && EnvironmentCircuitBreaker.isOpen()) {
+            logger.warn("Not retrying " + result.getMethod().getMethodName() + ": environment circuit open");
+            return false;
+        }
+
+        if (metadata.hasRetry()) {
+            int maxRetries = metadata.getMaxRetries();
+            long backoffTimeMs = metadata.getBackoffTimeMs();
 
             if (retryCount < maxRetries) {
                 retryCount++;
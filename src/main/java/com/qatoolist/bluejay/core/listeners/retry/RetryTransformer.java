@@ -1,5 +1,6 @@
 package com.qatoolist.bluejay.core.listeners.retry;
 
+import com.qatoolist.bluejay.core.listeners.index.TestIndex;
 import org.testng.IAnnotationTransformer;
 import org.testng.annotations.ITestAnnotation;
 
@@ -9,7 +10,7 @@ import java.lang.reflect.Method;
 /**
  * RetryTransformer acts as a TestNG annotation transformer. It identifies
  * test methods annotated with the custom `@Retry` annotation and automatically
- * sets the `RetryAnalyzer` for those methods.
+ * sets the `RetryAnalyzer` for those methods. Annotations are read from the {@link TestIndex}.
  */
 public class RetryTransformer implements IAnnotationTransformer {
 
@@ -24,7 +25,7 @@ public class RetryTransformer implements IAnnotationTransformer {
      */
     @Override
     public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
-        if (testMethod.isAnnotationPresent(Retry.class)) {
+        if (testMethod != null && TestIndex.get(testMethod).hasRetry()) {
             annotation.setRetryAnalyzer(RetryAnalyzer.class);
         }
     }
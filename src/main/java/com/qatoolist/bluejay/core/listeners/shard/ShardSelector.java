@@ -0,0 +1,117 @@
+package com.qatoolist.bluejay.core.listeners.shard;
+
+import com.qatoolist.bluejay.core.listeners.impact.ImpactMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.ITestNGMethod;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+/**
+ * ShardSelector splits test methods deterministically across JVM shards. Every shard sees the
+ * same method list and keeps only the methods assigned to 'shard.index' (0-based) out of
+ * 'shard.count'. The assignment strategy ('shard.strategy') is either:
+ * * hash - a stable CRC32 hash of the test identifier (default)
+ * * duration - greedy balancing of the durations recorded by {@link TestDurations}; methods
+ * without a recorded duration are weighted with the average known duration. All shards must load
+ * the same durations ('test.durations.file', set by the 'shardedTest' task) to agree on the plan.
+ */
+public class ShardSelector {
+
+    public static final int SHARD_COUNT = Integer.parseInt(System.getProperty("shard.count", "1"));
+    public static final int SHARD_INDEX = Integer.parseInt(System.getProperty("shard.index", "0"));
+    private static final String STRATEGY = System.getProperty("shard.strategy", "hash").toLowerCase();
+
+    private static final Logger logger = LogManager.getLogger(ShardSelector.class);
+
+    private ShardSelector() {
+    } // Prevent instantiation
+
+    /**
+     * Returns whether sharding is enabled, i.e. 'shard.count' is greater than 1.
+     *
+     * @return true if sharding is enabled, false otherwise.
+     * @throws IllegalArgumentException if 'shard.index' is not within [0, shard.count).
+     */
+    public static boolean isEnabled() {
+        if (SHARD_COUNT <= 1) {
+            return false;
+        }
+        if (SHARD_INDEX < 0 || SHARD_INDEX >= SHARD_COUNT) {
+            throw new IllegalArgumentException("shard.index must be between 0 and " + (SHARD_COUNT - 1) + ", got " + SHARD_INDEX);
+        }
+        return true;
+    }
+
+    /**
+     * Keeps the methods assigned to the current shard.
+     *
+     * @param methods The methods to be executed by all shards
+     * @return The methods to be executed by this shard, in their original order.
+     */
+    public static List<IMethodInstance> select(List<IMethodInstance> methods) {
+        Map<String, Integer> assignment = new HashMap<>();
+        if ("duration".equals(STRATEGY)) {
+            List<String> testIds = new ArrayList<>();
+            methods.forEach(method -> testIds.add(testId(method.getMethod())));
+            assignment = assignByDuration(testIds, TestDurations.load(), SHARD_COUNT);
+        }
+
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            String testId = testId(method.getMethod());
+            int shard = assignment.containsKey(testId) ? assignment.get(testId) : hashShard(testId, SHARD_COUNT);
+            if (shard == SHARD_INDEX) {
+                selected.add(method);
+            }
+        }
+        logger.info("Shard " + SHARD_INDEX + "/" + SHARD_COUNT + " (" + STRATEGY + "): running "
+                + selected.size() + " of " + methods.size() + " tests");
+        return selected;
+    }
+
+    static int hashShard(String testId, int shardCount) {
+        CRC32 crc = new CRC32();
+        crc.update(testId.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % shardCount);
+    }
+
+    /**
+     * Assigns each distinct test to the shard with the lowest total duration so far, longest tests
+     * first. Ties are broken by test identifier and shard index so every shard computes the same plan.
+     */
+    static Map<String, Integer> assignByDuration(Collection<String> testIds, Map<String, Long> known, int shardCount) {
+        long average = known.isEmpty() ? 1 : Math.max(1, known.values().stream().mapToLong(Long::longValue).sum() / known.size());
+
+        List<String> ordered = new ArrayList<>(new TreeSet<>(testIds));
+        ordered.sort(Comparator.comparingLong((String testId) -> known.getOrDefault(testId, average)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        long[] load = new long[shardCount];
+        Map<String, Integer> assignment = new HashMap<>();
+        for (String testId : ordered) {
+            int target = 0;
+            for (int shard = 1; shard < shardCount; shard++) {
+                if (load[shard] < load[target]) {
+                    target = shard;
+                }
+            }
+            load[target] += known.getOrDefault(testId, average);
+            assignment.put(testId, target);
+        }
+        return assignment;
+    }
+
+    private static String testId(ITestNGMethod method) {
+        return ImpactMap.testId(method.getRealClass(), method.getMethodName());
+    }
+}
@@ -0,0 +1,125 @@
+package com.qatoolist.bluejay.core.listeners.shard;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TestDurations records how long each test method took and persists the timings, so later
+ * sharded runs can balance methods across shards by duration. Each run (or shard) writes its
+ * own file into the durations directory ('test.durations.dir').
+ * <p>
+ * Durations are loaded from 'test.durations.file' when set; the 'shardedTest' task passes every
+ * shard the same snapshot this way, so all shards compute the same plan while they write their
+ * new durations elsewhere. Otherwise all files of the durations directory are merged, in file
+ * name order.
+ */
+public class TestDurations {
+
+    private static final Path DURATIONS_DIR = Paths.get(System.getProperty("test.durations.dir", "build/test-durations"));
+    private static final String DURATIONS_FILE = System.getProperty("test.durations.file", "");
+
+    private static final Map<String, Long> recorded = new ConcurrentHashMap<>();
+
+    private static final Logger logger = LogManager.getLogger(TestDurations.class);
+
+    private TestDurations() {
+    } // Prevent instantiation
+
+    /**
+     * Records the duration of a test invocation. Data-driven methods accumulate the time of all rows.
+     *
+     * @param testId     The test identifier ("fully.qualified.Class#method")
+     * @param durationMs The invocation duration in milliseconds
+     */
+    public static void record(String testId, long durationMs) {
+        recorded.merge(testId, Math.max(durationMs, 0), Long::sum);
+    }
+
+    /**
+     * Writes the durations recorded in this JVM to the durations directory.
+     */
+    public static void save() {
+        if (recorded.isEmpty()) {
+            return;
+        }
+        String suffix = ShardSelector.isEnabled() ? "shard-" + ShardSelector.SHARD_INDEX : "all";
+        Path file = DURATIONS_DIR.resolve("durations-" + suffix + ".properties");
+
+        Properties properties = new Properties();
+        recorded.forEach((testId, duration) -> properties.setProperty(testId, String.valueOf(duration)));
+        try {
+            Files.createDirectories(DURATIONS_DIR);
+            try (OutputStream stream = Files.newOutputStream(file)) {
+                properties.store(stream, "Test durations in milliseconds");
+            }
+        } catch (IOException e) {
+            String error = "Failed to save test durations: " + e.getMessage();
+            logger.error(error);
+        }
+    }
+
+    /**
+     * Loads the durations file ('test.durations.file') if set, otherwise merges all duration
+     * files of the durations directory in file name order.
+     *
+     * @return The known durations in milliseconds, keyed by test identifier. Empty if none were recorded.
+     */
+    public static Map<String, Long> load() {
+        Map<String, Long> durations = new HashMap<>();
+        try {
+            if (!DURATIONS_FILE.isEmpty()) {
+                loadFile(Paths.get(DURATIONS_FILE), durations);
+                return durations;
+            }
+            if (!Files.isDirectory(DURATIONS_DIR)) {
+                return durations;
+            }
+            List<Path> files = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(DURATIONS_DIR, "durations-*.properties")) {
+                stream.forEach(files::add);
+            }
+            Collections.sort(files);
+            for (Path file : files) {
+                loadFile(file, durations);
+            }
+        } catch (IOException e) {
+            String error = "Failed to load test durations: " + e.getMessage();
+            logger.error(error);
+        }
+        return durations;
+    }
+
+    private static void loadFile(Path file, Map<String, Long> durations) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            logger.warn("No test durations found at " + file);
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream stream = Files.newInputStream(file)) {
+            properties.load(stream);
+        }
+        for (String testId : properties.stringPropertyNames()) {
+            try {
+                durations.put(testId, Long.parseLong(properties.getProperty(testId)));
+            } catch (NumberFormatException e) {
+                String error = "Invalid duration for key: " + testId + " in " + file;
+                logger.error(error);
+            }
+        }
+    }
+}
@@ -1,47 +1,113 @@
 package com.qatoolist.bluejay.core.pages;
 
 import com.qatoolist.bluejay.core.config.ConfigManager;
+import com.qatoolist.bluejay.core.listeners.impact.TestImpactRecorder;
+import com.qatoolist.bluejay.core.pages.batch.DomBatch;
+import com.qatoolist.bluejay.core.pages.batch.ElementSnapshot;
+import com.qatoolist.bluejay.core.pages.init.PageInitializer;
+import com.qatoolist.bluejay.core.pages.perf.PagePerformance;
+import com.qatoolist.bluejay.core.pages.waits.AdaptiveWait;
 import org.apache.hc.core5.util.Timeout;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * BasePage abstract class serves as a foundation for page object classes within a
  * Selenium-based test framework. It provides essential setup for WebDriver instances,
  * wait configuration, common utility methods for element interactions, and mechanisms
  * to facilitate page load waits and verification.
+ * <p>
+ * The wait timeout of a page can be overridden with the 'page.&lt;SimpleClassName&gt;.timeout'
+ * configuration property (in seconds); it defaults to ConfigManager.getDefaultTimeout().
  */
 public abstract class BasePage implements INavigable {
 
     protected WebDriver driver;
     protected WebDriverWait wait;
+    protected AdaptiveWait adaptiveWait;
     protected String url;
     protected String title;
 
     protected final long defaultTimeout=ConfigManager.getDefaultTimeout();
+    protected final long pageTimeout;
+
+    private static final String VISIBLE_SCRIPT =
+            "var e = arguments[0];"
+            + "if (!e || !e.isConnected || e.getClientRects().length === 0) { return false; }"
+            + "var style = window.getComputedStyle(e);"
+            + "return style.visibility !== 'hidden' && parseFloat(style.opacity) > 0;";
+    private static final String TITLE_SCRIPT = "return document.title === arguments[0];";
 
     /**
-     * Constructor initializes the WebDriver, establishes a default wait, and uses
-     * PageFactory to locate and initialize WebElements defined within concrete page classes.
+     * Constructor initializes the WebDriver, establishes the page's waits, and uses
+     * PageInitializer to assign lazy, cached element handles to the WebElements defined
+     * within concrete page classes.
      *
      * @param driver The active WebDriver instance
      */
     protected BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Timeout.ofSeconds(defaultTimeout).toDuration());
-        PageFactory.initElements(driver, this);
+        this.pageTimeout = ConfigManager.hasProperty("page." + getClass().getSimpleName() + ".timeout")
+                ? ConfigManager.getIntProperty("page." + getClass().getSimpleName() + ".timeout", (int) defaultTimeout)
+                : defaultTimeout;
+        this.wait = new WebDriverWait(driver, Timeout.ofSeconds(pageTimeout).toDuration());
+        this.adaptiveWait = new AdaptiveWait(driver, Timeout.ofSeconds(pageTimeout).toDuration());
+        PageInitializer.initElements(driver, this);
+        TestImpactRecorder.recordPage(getClass());
     }
 
     /**
-     * Blocks execution until the given WebElement becomes visible using an explicit wait.
+     * Blocks execution until the given WebElement becomes visible, using an event-driven
+     * wait in the browser when enabled ('wait.mode=event') or adaptive polling otherwise.
      *
      * @param element The WebElement to wait for.
      */
     protected void waitForElementVisible(WebElement element) {
-        wait.until(ExpectedConditions.visibilityOf(element));
+        if (adaptiveWait.isEventDriven()) {
+            adaptiveWait.untilScript(VISIBLE_SCRIPT, element);
+        } else {
+            adaptiveWait.until(ExpectedConditions.visibilityOf(element));
+        }
+    }
+
+    /**
+     * Starts a batch of DOM reads and form fills executed in a single script round trip.
+     *
+     * @return A new, empty DomBatch for this page's driver.
+     */
+    protected DomBatch batch() {
+        return new DomBatch(driver);
+    }
+
+    /**
+     * Reads the given properties of every element matching the locator in a single round trip,
+     * e.g. {@code readAll(By.cssSelector("#orders tr td"), DomBatch.TEXT)} for a whole table.
+     *
+     * @param by         The elements locator
+     * @param properties The properties to read (see DomBatch constants)
+     * @return The snapshots of the matched elements, in document order.
+     */
+    protected List<ElementSnapshot> readAll(By by, String... properties) {
+        return batch().read("elements", by, properties).execute().get("elements");
+    }
+
+    /**
+     * Fills several form fields in a single round trip, in the map's iteration order. Every field
+     * is located before any is filled.
+     *
+     * @param values The values to set, keyed by field locator
+     * @throws org.openqa.selenium.NoSuchElementException if a locator matched no element; no field is filled then.
+     */
+    protected void fillForm(Map<By, String> values) {
+        DomBatch batch = batch();
+        values.forEach(batch::fill);
+        batch.execute();
     }
 
     /**
@@ -57,10 +123,16 @@ public abstract class BasePage implements INavigable {
     /**
      * Waits for the page to load and verifies that the expected page title is displayed.
      * Throws a timeout exception if the page does not load within the specified wait time
-     * or if the title does not match the expected value.
+     * or if the title does not match the expected value. The page's load metrics are then
+     * recorded for this page class (see {@link PagePerformance}).
      */
     public void waitForPageLoad() {
-        wait.until(ExpectedConditions.titleIs(title));
+        if (adaptiveWait.isEventDriven()) {
+            adaptiveWait.untilScript(TITLE_SCRIPT, title);
+        } else {
+            adaptiveWait.until(ExpectedConditions.titleIs(title));
+        }
+        PagePerformance.capture(driver, getClass());
     }
 
     /**
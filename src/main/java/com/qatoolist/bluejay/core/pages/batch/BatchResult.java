@@ -0,0 +1,54 @@
+package com.qatoolist.bluejay.core.pages.batch;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * BatchResult holds the element snapshots of every read of an executed {@link DomBatch}.
+ */
+public class BatchResult {
+
+    private final Map<String, List<ElementSnapshot>> results;
+
+    BatchResult(Map<String, List<ElementSnapshot>> results) {
+        this.results = Collections.unmodifiableMap(results);
+    }
+
+    /**
+     * Returns the snapshots of all elements matched by a read, in document order.
+     *
+     * @param key The key of the read
+     * @return The snapshots, or an empty list if nothing matched.
+     * @throws IllegalArgumentException if no read was registered with the key.
+     */
+    public List<ElementSnapshot> get(String key) {
+        List<ElementSnapshot> snapshots = results.get(key);
+        if (snapshots == null) {
+            throw new IllegalArgumentException("No read registered with key: " + key);
+        }
+        return snapshots;
+    }
+
+    /**
+     * Returns the snapshot of the first element matched by a read.
+     *
+     * @param key The key of the read
+     * @return The first snapshot, or null if nothing matched.
+     */
+    public ElementSnapshot first(String key) {
+        List<ElementSnapshot> snapshots = get(key);
+        return snapshots.isEmpty() ? null : snapshots.get(0);
+    }
+
+    /**
+     * Returns the visible texts of all elements matched by a read ({@link DomBatch#TEXT} must be read).
+     *
+     * @param key The key of the read
+     * @return The texts, in document order.
+     */
+    public List<String> texts(String key) {
+        return get(key).stream().map(ElementSnapshot::getText).collect(Collectors.toList());
+    }
+}
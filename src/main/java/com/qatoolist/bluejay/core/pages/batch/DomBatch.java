@@ -0,0 +1,276 @@
+package com.qatoolist.bluejay.core.pages.batch;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DomBatch collects DOM reads and form fills and executes them in a single executeScript call,
+ * instead of one WebDriver round trip per element command. Fills are applied first, in the order
+ * they were added, then every read is evaluated. If any fill target is missing, no field is filled.
+ * <p>
+ * W3C locators (css, xpath, tag name, link text, and id/name/class through css) are resolved
+ * inside the script; other locators (e.g. ByChained, RelativeBy) are resolved with one
+ * findElements call each and passed to the script as elements.
+ * <p>
+ * Example:
+ * <pre>
+ * BatchResult result = new DomBatch(driver)
+ *         .read("rows", By.cssSelector("#orders tr"), DomBatch.TEXT, DomBatch.attribute("data-id"))
+ *         .read("total", By.id("total"), DomBatch.TEXT, DomBatch.VISIBLE)
+ *         .execute();
+ * </pre>
+ */
+public class DomBatch {
+
+    public static final String TEXT = "text";
+    public static final String VISIBLE = "visible";
+    public static final String RECT = "rect";
+    public static final String TAG = "tag";
+    public static final String VALUE = "value";
+    public static final String ENABLED = "enabled";
+    public static final String SELECTED = "selected";
+
+    private static final String SCRIPT =
+            "var spec = arguments[0], located = arguments[1];"
+            + "var find = function (q) {"
+            + "  if (q.elements !== undefined) { return located[q.elements]; }"
+            + "  if (q.using === 'css selector') { return Array.prototype.slice.call(document.querySelectorAll(q.value)); }"
+            + "  if (q.using === 'tag name') { return Array.prototype.slice.call(document.getElementsByTagName(q.value)); }"
+            + "  if (q.using === 'xpath') {"
+            + "    var snapshot = document.evaluate(q.value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+            + "    var nodes = [];"
+            + "    for (var i = 0; i < snapshot.snapshotLength; i++) { nodes.push(snapshot.snapshotItem(i)); }"
+            + "    return nodes;"
+            + "  }"
+            + "  if (q.using === 'link text' || q.using === 'partial link text') {"
+            + "    var links = Array.prototype.slice.call(document.getElementsByTagName('a'));"
+            + "    return links.filter(function (a) {"
+            + "      var text = (a.innerText || '').trim();"
+            + "      return q.using === 'link text' ? text === q.value : text.indexOf(q.value) >= 0;"
+            + "    });"
+            + "  }"
+            + "  throw new Error('Unsupported locator strategy: ' + q.using);"
+            + "};"
+            + "var visible = function (e) {"
+            + "  if (!e.isConnected || e.getClientRects().length === 0) { return false; }"
+            + "  var style = window.getComputedStyle(e);"
+            + "  return style.visibility !== 'hidden' && parseFloat(style.opacity) > 0;"
+            + "};"
+            + "var read = function (e, p) {"
+            + "  switch (p) {"
+            + "    case 'text': return visible(e) ? (e.innerText || '').trim() : '';"
+            + "    case 'visible': return visible(e);"
+            + "    case 'rect': var r = e.getBoundingClientRect();"
+            + "      return {x: Math.round(r.left + window.scrollX), y: Math.round(r.top + window.scrollY),"
+            + "              width: Math.round(r.width), height: Math.round(r.height)};"
+            + "    case 'tag': return e.tagName.toLowerCase();"
+            + "    case 'value': return e.value === undefined ? null : e.value;"
+            + "    case 'enabled': return !e.disabled;"
+            + "    case 'selected': return !!(e.checked || e.selected);"
+            + "  }"
+            + "  if (p.indexOf('attr:') === 0) { return e.getAttribute(p.substring(5)); }"
+            + "  if (p.indexOf('prop:') === 0) { var v = e[p.substring(5)]; return v === undefined ? null : v; }"
+            + "  return null;"
+            + "};"
+            + "var setValue = function (e, value) {"
+            + "  if (e.type === 'checkbox' || e.type === 'radio') {"
+            + "    if (e.checked !== (value === 'true')) { e.click(); }"
+            + "    return;"
+            + "  }"
+            + "  e.focus();"
+            // Use the native setter so frameworks tracking the value property see the change
+            + "  var descriptor = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(e), 'value');"
+            + "  if (descriptor && descriptor.set) { descriptor.set.call(e, value); } else { e.value = value; }"
+            + "  e.dispatchEvent(new Event('input', {bubbles: true}));"
+            + "  e.dispatchEvent(new Event('change', {bubbles: true}));"
+            + "  e.blur();"
+            + "};"
+            // Resolve every fill target before changing any field, so a missing one changes nothing
+            + "var missing = [], targets = [];"
+            + "spec.fills.forEach(function (f, i) {"
+            + "  var found = find(f.query);"
+            + "  if (!found || found.length === 0) { missing.push(i); } else { targets.push(found[0]); }"
+            + "});"
+            + "if (missing.length > 0) { return {missing: missing, results: {}}; }"
+            + "spec.fills.forEach(function (f, i) { setValue(targets[i], f.value); });"
+            + "var results = {};"
+            + "spec.reads.forEach(function (r) {"
+            + "  results[r.key] = (find(r.query) || []).map(function (e) {"
+            + "    var values = {};"
+            + "    r.properties.forEach(function (p) { values[p] = read(e, p); });"
+            + "    return values;"
+            + "  });"
+            + "});"
+            + "return {missing: missing, results: results};";
+
+    // Locator strategies resolved inside the script (By.id, By.name and By.className use css selector)
+    private static final Set<String> SCRIPT_STRATEGIES = new HashSet<>(Arrays.asList(
+            "css selector", "tag name", "xpath", "link text", "partial link text"));
+
+    private final WebDriver driver;
+    private final List<Read> reads = new ArrayList<>();
+    private final List<Fill> fills = new ArrayList<>();
+
+    /**
+     * Creates an empty batch for the given driver.
+     *
+     * @param driver The WebDriver instance (must support JavaScript execution)
+     */
+    public DomBatch(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Builds the property name for reading an HTML attribute (e.g. "href").
+     *
+     * @param name The attribute name
+     * @return The property name to pass to {@link #read(String, By, String...)}.
+     */
+    public static String attribute(String name) {
+        return "attr:" + name;
+    }
+
+    /**
+     * Builds the property name for reading a DOM property (e.g. "checked").
+     *
+     * @param name The DOM property name
+     * @return The property name to pass to {@link #read(String, By, String...)}.
+     */
+    public static String property(String name) {
+        return "prop:" + name;
+    }
+
+    /**
+     * Adds a read of the given properties for every element matching the locator.
+     *
+     * @param key        The key of the read in the {@link BatchResult}, unique within the batch
+     * @param by         The elements locator
+     * @param properties The properties to read (e.g. {@link #TEXT}, {@link #attribute(String)})
+     * @return This batch, for chaining.
+     * @throws IllegalArgumentException if the batch already has a read with this key.
+     */
+    public DomBatch read(String key, By by, String... properties) {
+        for (Read read : reads) {
+            if (read.key.equals(key)) {
+                throw new IllegalArgumentException("Duplicate DomBatch read key: " + key);
+            }
+        }
+        reads.add(new Read(key, by, Arrays.asList(properties)));
+        return this;
+    }
+
+    /**
+     * Adds a fill of the first element matching the locator. Text inputs, text areas and selects
+     * get the value with 'input' and 'change' events; checkboxes and radios are clicked when their
+     * checked state differs from "true"/"false".
+     *
+     * @param by    The element locator
+     * @param value The value to set
+     * @return This batch, for chaining.
+     */
+    public DomBatch fill(By by, String value) {
+        fills.add(new Fill(by, value));
+        return this;
+    }
+
+    /**
+     * Executes all fills and reads in a single script call.
+     *
+     * @return The results of the reads.
+     * @throws NoSuchElementException if a fill locator matched no element; no field is filled then.
+     */
+    @SuppressWarnings("unchecked")
+    public BatchResult execute() {
+        List<List<WebElement>> located = new ArrayList<>();
+        List<Map<String, Object>> readSpecs = new ArrayList<>();
+        for (Read read : reads) {
+            Map<String, Object> spec = new HashMap<>();
+            spec.put("key", read.key);
+            spec.put("query", query(read.by, located));
+            spec.put("properties", read.properties);
+            readSpecs.add(spec);
+        }
+        List<Map<String, Object>> fillSpecs = new ArrayList<>();
+        for (Fill fill : fills) {
+            Map<String, Object> spec = new HashMap<>();
+            spec.put("query", query(fill.by, located));
+            spec.put("value", fill.value);
+            fillSpecs.add(spec);
+        }
+        Map<String, Object> spec = new HashMap<>();
+        spec.put("reads", readSpecs);
+        spec.put("fills", fillSpecs);
+
+        Map<String, Object> response = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(SCRIPT, spec, located);
+
+        List<Object> missing = (List<Object>) response.get("missing");
+        if (!missing.isEmpty()) {
+            List<By> missingLocators = new ArrayList<>();
+            missing.forEach(index -> missingLocators.add(fills.get(((Number) index).intValue()).by));
+            throw new NoSuchElementException("Unable to fill, no element found for: " + missingLocators);
+        }
+
+        Map<String, List<ElementSnapshot>> results = new LinkedHashMap<>();
+        Map<String, Object> rawResults = (Map<String, Object>) response.get("results");
+        for (Read read : reads) {
+            List<ElementSnapshot> snapshots = new ArrayList<>();
+            for (Object values : (List<Object>) rawResults.get(read.key)) {
+                snapshots.add(new ElementSnapshot((Map<String, Object>) values));
+            }
+            results.put(read.key, Collections.unmodifiableList(snapshots));
+        }
+        return new BatchResult(results);
+    }
+
+    /**
+     * Describes a locator for the script: natively for remotable locators whose strategy the
+     * script implements, otherwise by locating the elements here and referencing them by index.
+     */
+    private Map<String, Object> query(By by, List<List<WebElement>> located) {
+        Map<String, Object> query = new HashMap<>();
+        By.Remotable.Parameters parameters = by instanceof By.Remotable ? ((By.Remotable) by).getRemoteParameters() : null;
+        if (parameters != null && SCRIPT_STRATEGIES.contains(parameters.using()) && parameters.value() instanceof String) {
+            query.put("using", parameters.using());
+            query.put("value", parameters.value());
+        } else {
+            query.put("elements", located.size());
+            located.add(driver.findElements(by));
+        }
+        return query;
+    }
+
+    private static class Read {
+        private final String key;
+        private final By by;
+        private final List<String> properties;
+
+        private Read(String key, By by, List<String> properties) {
+            this.key = key;
+            this.by = by;
+            this.properties = properties;
+        }
+    }
+
+    private static class Fill {
+        private final By by;
+        private final String value;
+
+        private Fill(By by, String value) {
+            this.by = by;
+            this.value = value;
+        }
+    }
+}
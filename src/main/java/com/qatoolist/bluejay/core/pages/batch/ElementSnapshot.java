@@ -0,0 +1,108 @@
+package com.qatoolist.bluejay.core.pages.batch;
+
+import org.openqa.selenium.Rectangle;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * ElementSnapshot holds the properties of one element as read by a {@link DomBatch}, at the time
+ * the batch was executed. Only the properties requested in the read are present.
+ */
+public class ElementSnapshot {
+
+    private final Map<String, Object> values;
+
+    ElementSnapshot(Map<String, Object> values) {
+        this.values = Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * @return The visible text of the element ({@link DomBatch#TEXT}), or null if not read.
+     */
+    public String getText() {
+        return (String) values.get(DomBatch.TEXT);
+    }
+
+    /**
+     * @return true if the element was visible ({@link DomBatch#VISIBLE}), false if hidden or not read.
+     */
+    public boolean isVisible() {
+        return Boolean.TRUE.equals(values.get(DomBatch.VISIBLE));
+    }
+
+    /**
+     * @return true if the element was enabled ({@link DomBatch#ENABLED}), false if disabled or not read.
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(values.get(DomBatch.ENABLED));
+    }
+
+    /**
+     * @return true if the element was checked or selected ({@link DomBatch#SELECTED}), false otherwise.
+     */
+    public boolean isSelected() {
+        return Boolean.TRUE.equals(values.get(DomBatch.SELECTED));
+    }
+
+    /**
+     * @return The lower-case tag name ({@link DomBatch#TAG}), or null if not read.
+     */
+    public String getTagName() {
+        return (String) values.get(DomBatch.TAG);
+    }
+
+    /**
+     * @return The current value of a form element ({@link DomBatch#VALUE}), or null if not read.
+     */
+    public String getValue() {
+        Object value = values.get(DomBatch.VALUE);
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Returns an HTML attribute read with {@link DomBatch#attribute(String)}.
+     *
+     * @param name The attribute name
+     * @return The attribute value, or null if absent or not read.
+     */
+    public String getAttribute(String name) {
+        Object value = values.get(DomBatch.attribute(name));
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Returns a DOM property read with {@link DomBatch#property(String)}.
+     *
+     * @param name The DOM property name
+     * @return The property value as returned by the driver (String, Boolean, Long, Double, List or Map).
+     */
+    public Object getProperty(String name) {
+        return values.get(DomBatch.property(name));
+    }
+
+    /**
+     * @return The page-relative bounding box ({@link DomBatch#RECT}), or null if not read.
+     */
+    @SuppressWarnings("unchecked")
+    public Rectangle getRect() {
+        Map<String, Object> rect = (Map<String, Object>) values.get(DomBatch.RECT);
+        if (rect == null) {
+            return null;
+        }
+        return new Rectangle(((Number) rect.get("x")).intValue(), ((Number) rect.get("y")).intValue(),
+                ((Number) rect.get("height")).intValue(), ((Number) rect.get("width")).intValue());
+    }
+
+    /**
+     * @return All read values, keyed by property name.
+     */
+    public Map<String, Object> asMap() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
@@ -0,0 +1,109 @@
+package com.qatoolist.bluejay.core.pages.init;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * ElementHandle is the invocation handler behind the lazy element proxies assigned to page fields.
+ * A single-element handle looks the element up on first use and reuses it while the DOM is stable;
+ * once the element goes stale (e.g. after navigation) it is looked up again and the call retried.
+ * List handles look the elements up on every call, as the number of matches may change.
+ */
+public class ElementHandle implements InvocationHandler {
+
+    private static final Class<?>[] ELEMENT_INTERFACES = {WebElement.class, WrapsElement.class, Locatable.class};
+    private static final Class<?>[] LIST_INTERFACES = {List.class};
+
+    private final SearchContext searchContext;
+    private final By by;
+    private final boolean list;
+    private WebElement cached;
+
+    private ElementHandle(SearchContext searchContext, By by, boolean list) {
+        this.searchContext = searchContext;
+        this.by = by;
+        this.list = list;
+    }
+
+    /**
+     * Creates a lazy WebElement that is located with the given locator on first use.
+     *
+     * @param searchContext The context to search in (usually the WebDriver)
+     * @param by            The element locator
+     * @return The lazy WebElement proxy.
+     */
+    public static WebElement element(SearchContext searchContext, By by) {
+        return (WebElement) Proxy.newProxyInstance(ElementHandle.class.getClassLoader(), ELEMENT_INTERFACES,
+                new ElementHandle(searchContext, by, false));
+    }
+
+    /**
+     * Creates a lazy List of WebElements that is located with the given locator on every call.
+     *
+     * @param searchContext The context to search in (usually the WebDriver)
+     * @param by            The elements locator
+     * @return The lazy List proxy.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<WebElement> elements(SearchContext searchContext, By by) {
+        return (List<WebElement>) Proxy.newProxyInstance(ElementHandle.class.getClassLoader(), LIST_INTERFACES,
+                new ElementHandle(searchContext, by, true));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return invokeObjectMethod(proxy, method, args);
+        }
+        if (list) {
+            return invokeTarget(searchContext.findElements(by), method, args);
+        }
+        if ("getWrappedElement".equals(method.getName())) {
+            // The caller (e.g. a script argument) cannot retry on staleness, so always locate afresh
+            cached = searchContext.findElement(by);
+            return cached;
+        }
+        try {
+            return invokeTarget(resolve(), method, args);
+        } catch (StaleElementReferenceException e) {
+            cached = null; // The DOM changed since the lookup, locate the element again
+            return invokeTarget(resolve(), method, args);
+        }
+    }
+
+    private WebElement resolve() {
+        if (cached == null) {
+            cached = searchContext.findElement(by);
+        }
+        return cached;
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Object invokeObjectMethod(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return (list ? "Proxy element list for: " : "Proxy element for: ") + by;
+        }
+    }
+}
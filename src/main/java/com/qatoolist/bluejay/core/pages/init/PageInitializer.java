@@ -0,0 +1,44 @@
+package com.qatoolist.bluejay.core.pages.init;
+
+import com.qatoolist.bluejay.core.config.ConfigManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.PageFactory;
+
+/**
+ * PageInitializer assigns lazy element handles to the locator fields of a page object.
+ * Field metadata comes from the per-class {@link PageMetadata} cache, so constructing a page
+ * costs one cheap proxy per field instead of a reflective scan of the class hierarchy.
+ * Setting 'page.init.engine=pagefactory' restores plain PageFactory initialization.
+ */
+public class PageInitializer {
+
+    private static final boolean USE_PAGE_FACTORY = "pagefactory".equalsIgnoreCase(
+            ConfigManager.getOptionalProperty("page.init.engine", "cached"));
+
+    private PageInitializer() {
+    } // Prevent instantiation
+
+    /**
+     * Initializes the WebElement and List&lt;WebElement&gt; fields of the given page.
+     *
+     * @param driver The active WebDriver instance
+     * @param page   The page object to initialize
+     * @throws IllegalStateException if a field cannot be assigned.
+     */
+    public static void initElements(WebDriver driver, Object page) {
+        if (USE_PAGE_FACTORY) {
+            PageFactory.initElements(driver, page);
+            return;
+        }
+        for (PageMetadata.ElementField elementField : PageMetadata.of(page.getClass()).getFields()) {
+            Object handle = elementField.isList()
+                    ? ElementHandle.elements(driver, elementField.getBy())
+                    : ElementHandle.element(driver, elementField.getBy());
+            try {
+                elementField.getField().set(page, handle);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Failed to initialize field: " + elementField.getField(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.qatoolist.bluejay.core.pages.init;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.Annotations;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PageMetadata holds the locator fields of a page object class: every WebElement field and every
+ * List&lt;WebElement&gt; field annotated with @FindBy, @FindBys or @FindAll, with its locator
+ * resolved by Selenium's own {@link Annotations}. The fields are the same ones PageFactory would
+ * decorate, but the class hierarchy is scanned only once per class and cached.
+ */
+public class PageMetadata {
+
+    private static final Map<Class<?>, PageMetadata> cache = new ConcurrentHashMap<>();
+
+    private final List<ElementField> fields;
+
+    private PageMetadata(List<ElementField> fields) {
+        this.fields = Collections.unmodifiableList(fields);
+    }
+
+    /**
+     * Returns the metadata of a page class, computing it on first use.
+     *
+     * @param pageClass The page object class
+     * @return The cached PageMetadata.
+     */
+    public static PageMetadata of(Class<?> pageClass) {
+        return cache.computeIfAbsent(pageClass, PageMetadata::scan);
+    }
+
+    /**
+     * @return The locator fields of the page class, superclass fields included.
+     */
+    public List<ElementField> getFields() {
+        return fields;
+    }
+
+    private static PageMetadata scan(Class<?> pageClass) {
+        List<ElementField> fields = new ArrayList<>();
+        for (Class<?> type = pageClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)) {
+                    continue;
+                }
+                boolean element = field.getType() == WebElement.class;
+                boolean list = !element && isAnnotatedElementList(field);
+                if (element || list) {
+                    field.setAccessible(true);
+                    fields.add(new ElementField(field, new Annotations(field).buildBy(), list));
+                }
+            }
+        }
+        return new PageMetadata(fields);
+    }
+
+    private static boolean isAnnotatedElementList(Field field) {
+        if (!List.class.isAssignableFrom(field.getType())) {
+            return false;
+        }
+        Type genericType = field.getGenericType();
+        if (!(genericType instanceof ParameterizedType)
+                || ((ParameterizedType) genericType).getActualTypeArguments()[0] != WebElement.class) {
+            return false;
+        }
+        return field.isAnnotationPresent(FindBy.class) || field.isAnnotationPresent(FindBys.class)
+                || field.isAnnotationPresent(FindAll.class);
+    }
+
+    /**
+     * ElementField is a single locator field of a page class.
+     */
+    public static class ElementField {
+
+        private final Field field;
+        private final By by;
+        private final boolean list;
+
+        ElementField(Field field, By by, boolean list) {
+            this.field = field;
+            this.by = by;
+            this.list = list;
+        }
+
+        /**
+         * @return The accessible page field.
+         */
+        public Field getField() {
+            return field;
+        }
+
+        /**
+         * @return The locator built from the field's annotations (or its name, for unannotated WebElements).
+         */
+        public By getBy() {
+            return by;
+        }
+
+        /**
+         * @return true if the field is a List&lt;WebElement&gt;, false if it is a single WebElement.
+         */
+        public boolean isList() {
+            return list;
+        }
+    }
+}
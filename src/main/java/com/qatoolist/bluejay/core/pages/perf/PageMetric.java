@@ -0,0 +1,42 @@
+package com.qatoolist.bluejay.core.pages.perf;
+
+/**
+ * Page load metrics read from the browser's Navigation Timing and Paint Timing APIs, in
+ * milliseconds from the start of the navigation.
+ */
+public enum PageMetric {
+
+    /**
+     * Time to first byte: responseStart of the navigation entry.
+     */
+    TTFB("ttfb"),
+    /**
+     * End of the DOMContentLoaded event handlers.
+     */
+    DOM_CONTENT_LOADED("domContentLoaded"),
+    /**
+     * End of the load event handlers.
+     */
+    LOAD("load"),
+    /**
+     * First contentful paint.
+     */
+    FCP("fcp"),
+    /**
+     * Largest contentful paint reported so far.
+     */
+    LCP("lcp");
+
+    private final String key;
+
+    PageMetric(String key) {
+        this.key = key;
+    }
+
+    /**
+     * @return The metric's name in the capture script, results file and baseline keys.
+     */
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,329 @@
+package com.qatoolist.bluejay.core.pages.perf;
+
+import com.qatoolist.bluejay.core.listeners.shard.ShardSelector;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * PagePerformance collects the browser's page load metrics ({@link PageMetric}) each time a page
+ * object finishes loading, tagged with the page class, and compares their percentiles with stored
+ * baselines, so functional runs also catch front-end performance regressions.
+ * <p>
+ * A navigation is measured once, even when several page loads are awaited on it; metrics not
+ * available yet (e.g. the load event has not ended) are picked up by a later capture of the same
+ * navigation. The samples are written to 'page-timings-&lt;shard&gt;.csv' in the results directory.
+ * <p>
+ * Baselines are a properties file of '&lt;Page&gt;.&lt;metric&gt;.p&lt;percentile&gt;=ms' entries. A percentile
+ * regresses when it exceeds its baseline by more than the relative tolerance and the absolute slack.
+ * Configured by system properties:
+ * <ul>
+ *     <li>perf.capture - false disables the capture (default: true)</li>
+ *     <li>perf.results.dir - results directory (default: build/page-perf)</li>
+ *     <li>perf.baseline - baseline file (default: src/test/resources/page-perf-baseline.properties)</li>
+ *     <li>perf.percentiles - compared percentiles between 1 and 100 (default: 50,90)</li>
+ *     <li>perf.tolerance - relative tolerance (default: 0.2)</li>
+ *     <li>perf.tolerance.ms - absolute slack in milliseconds (default: 50)</li>
+ *     <li>perf.baseline.update - true writes this run's percentiles as the new baseline (default: false)</li>
+ * </ul>
+ * Invalid values are logged and replaced by their defaults.
+ */
+public class PagePerformance {
+
+    private static final Logger logger = LogManager.getLogger(PagePerformance.class);
+
+    private static final int[] DEFAULT_PERCENTILES = {50, 90};
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("perf.capture", "true"));
+    private static final Path RESULTS_DIR = Paths.get(System.getProperty("perf.results.dir", "build/page-perf"));
+    private static final Path BASELINE_FILE = Paths.get(System.getProperty("perf.baseline", "src/test/resources/page-perf-baseline.properties"));
+    private static final int[] PERCENTILES = parsePercentiles(System.getProperty("perf.percentiles"));
+    private static final double TOLERANCE = parseTolerance("perf.tolerance", System.getProperty("perf.tolerance"), 0.2);
+    private static final double TOLERANCE_MS = parseTolerance("perf.tolerance.ms", System.getProperty("perf.tolerance.ms"), 50);
+    private static final boolean UPDATE_BASELINE = Boolean.parseBoolean(System.getProperty("perf.baseline.update", "false"));
+
+    private static final String CAPTURE_SCRIPT =
+            "var nav = performance.getEntriesByType('navigation')[0];"
+            + "if (!nav) { return null; }"
+            + "var result = {origin: String(performance.timeOrigin), url: nav.name,"
+            + "  ttfb: nav.responseStart, domContentLoaded: nav.domContentLoadedEventEnd, load: nav.loadEventEnd};"
+            + "performance.getEntriesByType('paint').forEach(function (entry) {"
+            + "  if (entry.name === 'first-contentful-paint') { result.fcp = entry.startTime; }"
+            + "});"
+            + "try {"
+            + "  var observer = new PerformanceObserver(function () {});"
+            + "  observer.observe({type: 'largest-contentful-paint', buffered: true});"
+            + "  var entries = observer.takeRecords();"
+            + "  observer.disconnect();"
+            + "  if (entries.length) { result.lcp = entries[entries.length - 1].startTime; }"
+            + "} catch (e) {}"
+            + "return result;";
+
+    private static final Queue<Sample> samples = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<Navigation> lastNavigation = new ThreadLocal<>();
+
+    static {
+        lastNavigation.remove();
+    }
+
+    private PagePerformance() {
+    } // Prevent instantiation
+
+    /**
+     * Reads the load metrics of the current navigation and records those not recorded yet,
+     * tagged with the given page class. Failures are logged and never fail the test.
+     *
+     * @param driver The WebDriver instance showing the page
+     * @param page   The page object class
+     */
+    public static void capture(WebDriver driver, Class<?> page) {
+        if (!ENABLED || !(driver instanceof JavascriptExecutor)) {
+            return;
+        }
+        Object result;
+        try {
+            result = ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT);
+        } catch (WebDriverException e) {
+            logger.debug("Page metrics unavailable for " + page.getSimpleName() + ": " + e.getMessage());
+            return;
+        }
+        if (!(result instanceof Map)) {
+            return;
+        }
+        Map<?, ?> timings = (Map<?, ?>) result;
+        String origin = String.valueOf(timings.get("origin"));
+        Navigation navigation = lastNavigation.get();
+        if (navigation == null || !navigation.origin.equals(origin)) {
+            navigation = new Navigation(origin);
+            lastNavigation.set(navigation);
+        }
+        String url = String.valueOf(timings.get("url"));
+        for (PageMetric metric : PageMetric.values()) {
+            Object value = timings.get(metric.getKey());
+            // Zero means the event has not happened yet
+            if (value instanceof Number && ((Number) value).doubleValue() > 0 && navigation.recorded.add(metric)) {
+                samples.add(new Sample(page.getSimpleName(), metric, ((Number) value).doubleValue(), url));
+            }
+        }
+    }
+
+    /**
+     * Writes the samples recorded in this JVM to the results directory, and the baseline file
+     * when 'perf.baseline.update' is set.
+     */
+    public static void save() {
+        if (samples.isEmpty()) {
+            return;
+        }
+        String suffix = ShardSelector.isEnabled() ? "shard-" + ShardSelector.SHARD_INDEX : "all";
+        Path file = RESULTS_DIR.resolve("page-timings-" + suffix + ".csv");
+        try {
+            Files.createDirectories(RESULTS_DIR);
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write("page,metric,ms,url");
+                writer.newLine();
+                for (Sample sample : samples) {
+                    writer.write(sample.page + "," + sample.metric.getKey() + "," + String.format(Locale.ROOT, "%.1f", sample.valueMs)
+                            + ",\"" + sample.url.replace("\"", "\"\"") + "\"");
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            String error = "Failed to save page timings: " + e.getMessage();
+            logger.error(error);
+        }
+        if (UPDATE_BASELINE) {
+            saveBaseline();
+        }
+    }
+
+    /**
+     * Compares the percentiles of this run's samples with the baseline.
+     *
+     * @return One comparison per page, metric and percentile, ordered by page and metric.
+     */
+    public static List<PerfComparison> compare() {
+        Properties baseline = loadBaseline();
+        List<PerfComparison> comparisons = new ArrayList<>();
+        groupSamples().forEach((key, values) -> {
+            String page = key.substring(0, key.indexOf('.'));
+            PageMetric metric = PageMetric.valueOf(key.substring(key.indexOf('.') + 1));
+            for (int percentile : PERCENTILES) {
+                double value = percentile(values, percentile);
+                String baselineValue = baseline.getProperty(baselineKey(page, metric, percentile));
+                double baselineMs = -1;
+                double limitMs = -1;
+                if (baselineValue != null) {
+                    try {
+                        baselineMs = Double.parseDouble(baselineValue);
+                        limitMs = Math.max(baselineMs * (1 + TOLERANCE), baselineMs + TOLERANCE_MS);
+                    } catch (NumberFormatException e) {
+                        String error = "Invalid page performance baseline: " + baselineKey(page, metric, percentile);
+                        logger.error(error);
+                    }
+                }
+                comparisons.add(new PerfComparison(page, metric, percentile, values.size(), value, baselineMs, limitMs));
+            }
+        });
+        comparisons.stream().filter(PerfComparison::isRegression)
+                .forEach(comparison -> logger.warn("Page performance regression: " + comparison));
+        return comparisons;
+    }
+
+    private static void saveBaseline() {
+        Properties baseline = loadBaseline();
+        groupSamples().forEach((key, values) -> {
+            String page = key.substring(0, key.indexOf('.'));
+            PageMetric metric = PageMetric.valueOf(key.substring(key.indexOf('.') + 1));
+            for (int percentile : PERCENTILES) {
+                baseline.setProperty(baselineKey(page, metric, percentile), String.format(Locale.ROOT, "%.1f", percentile(values, percentile)));
+            }
+        });
+        try {
+            if (BASELINE_FILE.getParent() != null) {
+                Files.createDirectories(BASELINE_FILE.getParent());
+            }
+            try (OutputStream stream = Files.newOutputStream(BASELINE_FILE)) {
+                baseline.store(stream, "Page performance baselines in milliseconds");
+            }
+            logger.info("Page performance baseline written to " + BASELINE_FILE);
+        } catch (IOException e) {
+            String error = "Failed to save page performance baseline: " + e.getMessage();
+            logger.error(error);
+        }
+    }
+
+    private static Properties loadBaseline() {
+        Properties baseline = new Properties();
+        if (Files.isRegularFile(BASELINE_FILE)) {
+            try (InputStream stream = Files.newInputStream(BASELINE_FILE)) {
+                baseline.load(stream);
+            } catch (IOException e) {
+                String error = "Failed to load page performance baseline: " + e.getMessage();
+                logger.error(error);
+            }
+        }
+        return baseline;
+    }
+
+    /**
+     * Groups the sample values by "Page.METRIC", sorted ascending.
+     */
+    private static Map<String, List<Double>> groupSamples() {
+        Map<String, List<Double>> groups = new TreeMap<>();
+        for (Sample sample : samples) {
+            groups.computeIfAbsent(sample.page + "." + sample.metric.name(), key -> new ArrayList<>()).add(sample.valueMs);
+        }
+        groups.values().forEach(values -> values.sort(null));
+        return groups;
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values.
+     */
+    static double percentile(List<Double> sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.min(sorted.size() - 1, Math.max(0, rank - 1)));
+    }
+
+    /**
+     * Parses the comma-separated percentiles of 'perf.percentiles'.
+     *
+     * @param value The property value, or null
+     * @return The percentiles, or the defaults if the value is missing or invalid.
+     */
+    static int[] parsePercentiles(String value) {
+        if (value == null) {
+            return DEFAULT_PERCENTILES.clone();
+        }
+        try {
+            int[] percentiles = Arrays.stream(value.split(","))
+                    .map(String::trim).filter(item -> !item.isEmpty()).mapToInt(Integer::parseInt).toArray();
+            if (percentiles.length > 0 && Arrays.stream(percentiles).allMatch(percentile -> percentile >= 1 && percentile <= 100)) {
+                return percentiles;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        String error = "Invalid perf.percentiles '" + value + "', using " + Arrays.toString(DEFAULT_PERCENTILES);
+        logger.error(error);
+        return DEFAULT_PERCENTILES.clone();
+    }
+
+    /**
+     * Parses a non-negative tolerance.
+     *
+     * @param key          The property key, for the log
+     * @param value        The property value, or null
+     * @param defaultValue The value used when the property is missing or invalid
+     * @return The tolerance.
+     */
+    static double parseTolerance(String key, String value, double defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            double tolerance = Double.parseDouble(value.trim());
+            if (tolerance >= 0 && !Double.isInfinite(tolerance)) {
+                return tolerance;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        String error = "Invalid " + key + " '" + value + "', using " + defaultValue;
+        logger.error(error);
+        return defaultValue;
+    }
+
+    private static String baselineKey(String page, PageMetric metric, int percentile) {
+        return page + "." + metric.getKey() + ".p" + percentile;
+    }
+
+    private static class Sample {
+        private final String page;
+        private final PageMetric metric;
+        private final double valueMs;
+        private final String url;
+
+        private Sample(String page, PageMetric metric, double valueMs, String url) {
+            this.page = page;
+            this.metric = metric;
+            this.valueMs = valueMs;
+            this.url = url;
+        }
+    }
+
+    /**
+     * A navigation of the current thread's browser and the metrics already recorded for it.
+     */
+    private static class Navigation {
+        private final String origin;
+        private final Set<PageMetric> recorded = EnumSet.noneOf(PageMetric.class);
+
+        private Navigation(String origin) {
+            this.origin = origin;
+        }
+    }
+}
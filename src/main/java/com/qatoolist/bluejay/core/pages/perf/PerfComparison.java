@@ -0,0 +1,73 @@
+package com.qatoolist.bluejay.core.pages.perf;
+
+/**
+ * PerfComparison compares a percentile of one page metric in this run to its baseline.
+ */
+public class PerfComparison {
+
+    private final String page;
+    private final PageMetric metric;
+    private final int percentile;
+    private final int samples;
+    private final double valueMs;
+    private final double baselineMs;
+    private final double limitMs;
+
+    PerfComparison(String page, PageMetric metric, int percentile, int samples, double valueMs, double baselineMs, double limitMs) {
+        this.page = page;
+        this.metric = metric;
+        this.percentile = percentile;
+        this.samples = samples;
+        this.valueMs = valueMs;
+        this.baselineMs = baselineMs;
+        this.limitMs = limitMs;
+    }
+
+    public String getPage() {
+        return page;
+    }
+
+    public PageMetric getMetric() {
+        return metric;
+    }
+
+    public int getPercentile() {
+        return percentile;
+    }
+
+    public int getSamples() {
+        return samples;
+    }
+
+    public double getValueMs() {
+        return valueMs;
+    }
+
+    /**
+     * @return The baseline value, or -1 if the metric has no baseline.
+     */
+    public double getBaselineMs() {
+        return baselineMs;
+    }
+
+    /**
+     * @return The highest value accepted against the baseline, or -1 if the metric has no baseline.
+     */
+    public double getLimitMs() {
+        return limitMs;
+    }
+
+    public boolean hasBaseline() {
+        return baselineMs >= 0;
+    }
+
+    public boolean isRegression() {
+        return hasBaseline() && valueMs > limitMs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s p%d: %.0f ms (baseline %s, %d samples)", page, metric.getKey(), percentile, valueMs,
+                hasBaseline() ? String.format("%.0f ms, limit %.0f ms", baselineMs, limitMs) : "none", samples);
+    }
+}
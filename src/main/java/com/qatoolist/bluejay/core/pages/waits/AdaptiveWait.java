@@ -0,0 +1,231 @@
+package com.qatoolist.bluejay.core.pages.waits;
+
+import com.qatoolist.bluejay.core.config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.Wait;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * AdaptiveWait is a wait engine for page objects with two strategies:
+ * * Adaptive polling - the condition is evaluated immediately, then polled with an interval that
+ * starts short ('wait.poll.initial.ms', default 20) and grows by 'wait.poll.multiplier' (above 1,
+ * default 1.5) up to 'wait.poll.max.ms' (default 500), so fast conditions return almost immediately while slow
+ * ones do not flood the driver with requests.
+ * * Event-driven - a JavaScript condition is checked inside the browser on every DOM mutation,
+ * readyState change and load event, in a single asynchronous script call
+ * ({@link #untilScript(String, Object...)}). Enabled with 'wait.mode=event'.
+ * Like WebDriverWait, polling ignores NotFoundException and StaleElementReferenceException.
+ */
+public class AdaptiveWait implements Wait<WebDriver> {
+
+    private static final Logger logger = LogManager.getLogger(AdaptiveWait.class);
+
+    private static final double DEFAULT_POLL_MULTIPLIER = 1.5;
+
+    private static final long INITIAL_POLL_MS = ConfigManager.hasProperty("wait.poll.initial.ms")
+            ? ConfigManager.getIntProperty("wait.poll.initial.ms", 20) : 20;
+    private static final long MAX_POLL_MS = ConfigManager.hasProperty("wait.poll.max.ms")
+            ? ConfigManager.getIntProperty("wait.poll.max.ms", 500) : 500;
+    private static final double POLL_MULTIPLIER = parseMultiplier(ConfigManager.getOptionalProperty("wait.poll.multiplier", null));
+    private static final boolean EVENT_DRIVEN = "event".equalsIgnoreCase(ConfigManager.getOptionalProperty("wait.mode", "adaptive"));
+
+    private static final long SCRIPT_TIMEOUT_MARGIN_MS = 2_000;
+
+    private static final String EVENT_SCRIPT_TEMPLATE =
+            "var callback = arguments[arguments.length - 1];"
+            + "var args = Array.prototype.slice.call(arguments, 1, arguments.length - 1);"
+            + "var timeoutMs = arguments[0];"
+            + "var check = function () {"
+            + "  try { return !!(function () { %s }).apply(null, args); } catch (e) { return false; }"
+            + "};"
+            + "if (check()) { callback(true); return; }"
+            + "var done = false, observer, timer, interval;"
+            + "var onChange = function () { if (check()) { finish(true); } };"
+            + "var finish = function (result) {"
+            + "  if (done) { return; } done = true;"
+            + "  observer.disconnect(); clearTimeout(timer); clearInterval(interval);"
+            + "  document.removeEventListener('readystatechange', onChange);"
+            + "  window.removeEventListener('load', onChange);"
+            + "  callback(result);"
+            + "};"
+            + "observer = new MutationObserver(onChange);"
+            + "observer.observe(document, {subtree: true, childList: true, attributes: true, characterData: true});"
+            + "document.addEventListener('readystatechange', onChange);"
+            + "window.addEventListener('load', onChange);"
+            // Style and layout changes do not always produce mutations
+            + "interval = setInterval(onChange, 250);"
+            + "timer = setTimeout(function () { finish(false); }, timeoutMs);";
+
+    private final WebDriver driver;
+    private final Duration timeout;
+
+    /**
+     * Creates a wait engine for the given driver.
+     *
+     * @param driver  The WebDriver instance
+     * @param timeout The maximum time to wait for a condition
+     */
+    public AdaptiveWait(WebDriver driver, Duration timeout) {
+        this.driver = driver;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Returns whether event-driven waits are enabled ('wait.mode=event') and supported by the driver.
+     *
+     * @return true if {@link #untilScript(String, Object...)} waits for browser events, false if it polls.
+     */
+    public boolean isEventDriven() {
+        return EVENT_DRIVEN && driver instanceof JavascriptExecutor;
+    }
+
+    /**
+     * @return The maximum time to wait for a condition.
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Waits until the condition returns neither null nor false, polling with an adaptive interval.
+     *
+     * @param condition The condition to evaluate (e.g. an ExpectedCondition)
+     * @param <T>       The condition's return type
+     * @return The condition's last return value.
+     * @throws TimeoutException if the condition is not met within the timeout.
+     */
+    @Override
+    public <T> T until(Function<? super WebDriver, T> condition) {
+        return pollUntil(condition, System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Waits until a JavaScript condition becomes truthy. The condition is the body of a function
+     * that receives the given arguments, e.g. {@code "return document.title === arguments[0];"}.
+     * In event-driven mode the condition is re-evaluated in the browser on DOM events and the call
+     * blocks in a single asynchronous script, with the session's script timeout raised for the
+     * duration of the wait if it is shorter; otherwise it is polled.
+     *
+     * @param condition The JavaScript function body returning the condition value
+     * @param args      The arguments passed to the condition (e.g. WebElements)
+     * @throws TimeoutException if the condition is not met within the timeout.
+     */
+    public void untilScript(String condition, Object... args) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Function<WebDriver, Boolean> polled = webDriver ->
+                Boolean.TRUE.equals(((JavascriptExecutor) webDriver).executeScript(
+                        "return !!(function () { " + condition + " }).apply(null, arguments);", args));
+
+        if (!isEventDriven()) {
+            pollUntil(polled, deadline);
+            return;
+        }
+
+        long remainingMs = Math.max(0, (deadline - System.nanoTime()) / 1_000_000);
+        Duration scriptTimeout = raiseScriptTimeout(remainingMs);
+        Object[] scriptArgs = new Object[args.length + 1];
+        scriptArgs[0] = remainingMs;
+        System.arraycopy(args, 0, scriptArgs, 1, args.length);
+        try {
+            Object result = ((JavascriptExecutor) driver).executeAsyncScript(String.format(EVENT_SCRIPT_TEMPLATE, condition), scriptArgs);
+            if (!Boolean.TRUE.equals(result)) {
+                throw new TimeoutException("Expected condition failed: waiting for script condition (tried for "
+                        + timeout.getSeconds() + " second(s))");
+            }
+        } catch (ScriptTimeoutException e) {
+            throw new TimeoutException("Expected condition failed: waiting for script condition (tried for "
+                    + timeout.getSeconds() + " second(s))", e);
+        } catch (TimeoutException e) {
+            throw e;
+        } catch (WebDriverException e) {
+            // The page navigated or replaced the document while waiting; finish by polling
+            pollUntil(polled, deadline);
+        } finally {
+            if (scriptTimeout != null) {
+                driver.manage().timeouts().scriptTimeout(scriptTimeout);
+            }
+        }
+    }
+
+    /**
+     * Raises the session's script timeout above the remaining wait time if it is shorter.
+     *
+     * @return The script timeout to restore after the wait, or null if it was not changed.
+     */
+    private Duration raiseScriptTimeout(long remainingMs) {
+        WebDriver.Timeouts timeouts = driver.manage().timeouts();
+        Duration current = timeouts.getScriptTimeout();
+        // No timeout (W3C null) or one that outlasts the wait
+        if (current == null || remainingMs + SCRIPT_TIMEOUT_MARGIN_MS <= current.toMillis()) {
+            return null;
+        }
+        timeouts.scriptTimeout(Duration.ofMillis(remainingMs + SCRIPT_TIMEOUT_MARGIN_MS));
+        return current;
+    }
+
+    private <T> T pollUntil(Function<? super WebDriver, T> condition, long deadline) {
+        long pollMs = INITIAL_POLL_MS;
+        RuntimeException lastException = null;
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && (!(value instanceof Boolean) || Boolean.TRUE.equals(value))) {
+                    return value;
+                }
+                lastException = null;
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastException = e;
+            }
+
+            long remainingMs = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMs <= 0) {
+                throw new TimeoutException("Expected condition failed: waiting for " + condition
+                        + " (tried for " + timeout.getSeconds() + " second(s) with adaptive polling)", lastException);
+            }
+            sleep(Math.min(pollMs, remainingMs));
+            pollMs = Math.min(MAX_POLL_MS, Math.max(pollMs + 1, (long) (pollMs * POLL_MULTIPLIER)));
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Preserve interrupted status
+            throw new WebDriverException("Interrupted while waiting", e);
+        }
+    }
+
+    /**
+     * Parses the poll interval multiplier, which must be above 1 for the interval to grow.
+     *
+     * @param value The 'wait.poll.multiplier' value, or null
+     * @return The multiplier, or the default if the value is missing or invalid.
+     */
+    static double parseMultiplier(String value) {
+        if (value == null) {
+            return DEFAULT_POLL_MULTIPLIER;
+        }
+        try {
+            double multiplier = Double.parseDouble(value.trim());
+            if (multiplier > 1 && !Double.isInfinite(multiplier)) {
+                return multiplier;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        String error = "Invalid wait.poll.multiplier '" + value + "', using " + DEFAULT_POLL_MULTIPLIER;
+        logger.error(error);
+        return DEFAULT_POLL_MULTIPLIER;
+    }
+}
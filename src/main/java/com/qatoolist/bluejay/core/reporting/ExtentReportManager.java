@@ -11,6 +11,8 @@ import com.aventstack.extentreports.reporter.configuration.Theme;
  */
 public class ExtentReportManager {
 
+    private static final String REPORT_DIR = System.getProperty("report.dir", System.getProperty("user.dir") + "/reports");
+
     private static ExtentReports extentReports;
 
     // Private constructor to enforce non-instantiability
@@ -19,13 +21,14 @@ public class ExtentReportManager {
 
     /**
      * Retrieves the ExtentReports instance (creating it if necessary).
-     * Generates a report file with a dynamic timestamp in the /reports directory.
+     * Generates a report file with a dynamic timestamp in the /reports directory, or in the
+     * directory given by the 'report.dir' system property (e.g. one per shard).
      *
      * @return The ExtentReports instance
      */
     public static synchronized ExtentReports getReportInstance() {
         if (extentReports == null) {
-            String reportName = System.getProperty("user.dir") + "/reports/AutomationReport_" + System.currentTimeMillis() + ".html";
+            String reportName = REPORT_DIR + "/AutomationReport_" + System.currentTimeMillis() + ".html";
             ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportName);
 
             sparkReporter.config().setDocumentTitle("Automation Report");
@@ -42,6 +45,15 @@ public class ExtentReportManager {
         return extentReports;
     }
 
+    /**
+     * Returns the directory reports are written to: /reports, or the 'report.dir' system property.
+     *
+     * @return The report directory.
+     */
+    public static String getReportDir() {
+        return REPORT_DIR;
+    }
+
     /**
      * Flushes the current ExtentReports instance, writing out any remaining report data.
      */
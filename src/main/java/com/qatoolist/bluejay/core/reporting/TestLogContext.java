@@ -0,0 +1,88 @@
+package com.qatoolist.bluejay.core.reporting;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.routing.RoutingAppender;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TestLogContext tags every log event of a running test with the test id and browser, through
+ * the log4j ThreadContext (MDC keys {@value #TEST_ID} and {@value #BROWSER}). When log4j2.xml
+ * routes events by test id to per-test files (the "PerTest" Routing appender), each test's
+ * lines are also written to {@code <logDir>/tests/<test id>.log}, which the report links to.
+ * A file left there by an earlier run is deleted when its test starts, so it only holds the
+ * lines of the current run.
+ */
+public class TestLogContext {
+
+    public static final String TEST_ID = "testId";
+    public static final String BROWSER = "browser";
+
+    private static final String ROUTING_APPENDER = "PerTest";
+    private static final String LOG_DIR = System.getProperty("logDir", "logs");
+
+    private static final Map<String, AtomicInteger> invocations = new ConcurrentHashMap<>();
+    private static final RoutingAppender routing = findRoutingAppender();
+
+    private TestLogContext() {
+    } // Prevent instantiation
+
+    /**
+     * Starts the log context of a test on the current thread. Repeated invocations of a method
+     * (data provider rows, retries) get numbered ids, e.g. "com.acme.LoginTest.login-2". The log
+     * file of the id is deleted if an earlier run left one.
+     *
+     * @param testClass  The test class
+     * @param methodName The test method name
+     * @return The test id.
+     */
+    public static String start(Class<?> testClass, String methodName) {
+        String name = testClass.getName() + "." + methodName;
+        int invocation = invocations.computeIfAbsent(name, key -> new AtomicInteger()).incrementAndGet();
+        String testId = invocation == 1 ? name : name + "-" + invocation;
+        if (routing != null) {
+            // The route appends, as it is recreated after an idle purge; test ids are unique within a run
+            new File(LOG_DIR, "tests/" + testId + ".log").delete();
+        }
+        ThreadContext.put(TEST_ID, testId);
+        ThreadContext.put(BROWSER, System.getProperty("browser", "chrome"));
+        return testId;
+    }
+
+    /**
+     * Returns the log file of the current thread's test.
+     *
+     * @return The per-test log file, or null if no test is running or per-test routing is not configured.
+     */
+    public static File getLogFile() {
+        String testId = ThreadContext.get(TEST_ID);
+        if (routing == null || testId == null) {
+            return null;
+        }
+        return new File(LOG_DIR, "tests/" + testId + ".log");
+    }
+
+    /**
+     * Ends the log context of the current thread's test. Its log file stays open until the
+     * async loggers have written the events still queued for it, and is then closed by the
+     * appender's idle purge policy.
+     */
+    public static void finish() {
+        ThreadContext.remove(TEST_ID);
+        ThreadContext.remove(BROWSER);
+    }
+
+    private static RoutingAppender findRoutingAppender() {
+        if (!(LogManager.getContext(false) instanceof LoggerContext)) {
+            return null;
+        }
+        Appender appender = ((LoggerContext) LogManager.getContext(false)).getConfiguration().getAppender(ROUTING_APPENDER);
+        return appender instanceof RoutingAppender ? (RoutingAppender) appender : null;
+    }
+}
@@ -17,7 +17,7 @@ import java.util.Date;
  */
 public class ScreenshotUtils {
 
-    private static final String SCREENSHOT_DIRECTORY = "screenshots";
+    private static final String SCREENSHOT_DIRECTORY = System.getProperty("screenshot.dir", "screenshots");
 
     private static final Logger logger = LogManager.getLogger(ScreenshotUtils.class);
 
@@ -26,7 +26,8 @@ public class ScreenshotUtils {
     }
 
     /**
-     * Captures a screenshot from the WebDriver, saves it to the 'screenshots' directory,
+     * Captures a screenshot from the WebDriver, saves it to the 'screenshots' directory
+     * (or the one given by the 'screenshot.dir' system property),
      * and returns the absolute path. Uses a dynamic filename with a timestamp.
      *
      * @param driver The WebDriver instance
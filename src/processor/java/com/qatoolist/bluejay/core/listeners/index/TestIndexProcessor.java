@@ -0,0 +1,179 @@
+package com.qatoolist.bluejay.core.listeners.index;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * TestIndexProcessor is an annotation processor that writes, at compile time, a compact index of
+ * the `RunIf`, `Retry` and `DataFile` annotations and TestNG groups of every test method.
+ * The index is read by {@link TestIndex} so listeners do not have to reflect over annotations
+ * when the suite starts.
+ * <p>
+ * Annotations are read through their mirrors, so neither TestNG nor the framework annotations
+ * need to be loadable on the processor path.
+ */
+@SupportedAnnotationTypes({
+        TestIndexProcessor.RUN_IF,
+        TestIndexProcessor.RETRY,
+        TestIndexProcessor.DATA_FILE,
+        TestIndexProcessor.TEST
+})
+public class TestIndexProcessor extends AbstractProcessor {
+
+    static final String RUN_IF = "com.qatoolist.bluejay.core.listeners.interceptor.RunIf";
+    static final String RETRY = "com.qatoolist.bluejay.core.listeners.retry.Retry";
+    static final String DATA_FILE = "com.qatoolist.bluejay.core.utils.providers.DataFile";
+    static final String TEST = "org.testng.annotations.Test";
+
+    private final Properties index = new Properties();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.METHOD) {
+                    indexMethod((ExecutableElement) element);
+                } else if (element.getKind() == ElementKind.CLASS) {
+                    indexClass((TypeElement) element);
+                }
+            }
+        }
+        return false;
+    }
+
+    private void indexMethod(ExecutableElement method) {
+        TypeElement owner = (TypeElement) method.getEnclosingElement();
+        // Only constants are used from TestIndex, so it is not needed on the processor path;
+        // the key has the form of TestIndex.key(Method)
+        StringJoiner parameterTypes = new StringJoiner(",", "(", ")");
+        for (VariableElement parameter : method.getParameters()) {
+            parameterTypes.add(typeName(parameter.asType()));
+        }
+        String key = binaryName(owner) + "#" + method.getSimpleName() + parameterTypes;
+        index.setProperty(binaryName(owner) + TestIndex.INDEXED, "true");
+
+        for (AnnotationMirror mirror : method.getAnnotationMirrors()) {
+            String type = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+            Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                    processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+            switch (type) {
+                case RUN_IF:
+                    index.setProperty(key + TestIndex.ENVIRONMENTS, String.join(",", strings(values, "environment")));
+                    break;
+                case RETRY:
+                    index.setProperty(key + TestIndex.RETRY, value(values, "maxRetries") + ":" + value(values, "backoffTimeMs"));
+                    break;
+                case DATA_FILE:
+                    index.setProperty(key + TestIndex.DATA_FILE, String.valueOf(value(values, "value")));
+                    break;
+                case TEST:
+                    index.setProperty(key + TestIndex.GROUPS, String.join(",", strings(values, "groups")));
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void indexClass(TypeElement type) {
+        index.setProperty(binaryName(type) + TestIndex.INDEXED, "true");
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            String name = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+            if (TEST.equals(name)) {
+                Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                        processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+                index.setProperty(binaryName(type) + TestIndex.GROUPS, String.join(",", strings(values, "groups")));
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the erased type as Class#getTypeName reports it at runtime.
+     */
+    private String typeName(TypeMirror type) {
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        if (erased.getKind() == TypeKind.ARRAY) {
+            return typeName(((ArrayType) erased).getComponentType()) + "[]";
+        }
+        if (erased.getKind() == TypeKind.DECLARED) {
+            return binaryName((TypeElement) ((DeclaredType) erased).asElement());
+        }
+        return erased.toString(); // Primitive types
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private static Object value(Map<? extends ExecutableElement, ? extends AnnotationValue> values, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads a String or String[] annotation member as a list of strings.
+     */
+    private static List<String> strings(Map<? extends ExecutableElement, ? extends AnnotationValue> values, String name) {
+        List<String> result = new ArrayList<>();
+        Object value = value(values, name);
+        if (value instanceof List) {
+            for (Object item : (List<?>) value) {
+                result.add(String.valueOf(((AnnotationValue) item).getValue()).trim());
+            }
+        } else if (value != null) {
+            result.add(value.toString().trim());
+        }
+        return result;
+    }
+
+    private void writeIndex() {
+        if (index.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", TestIndex.RESOURCE);
+            try (OutputStream stream = file.openOutputStream()) {
+                index.store(stream, "Bluejay test index - generated by TestIndexProcessor");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Failed to write test index: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.qatoolist.bluejay.core.auth;
+
+import com.qatoolist.bluejay.core.drivers.fake.FakeWebDriver;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AuthStateCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(30);
+    private static final Instant CAPTURED_AT = Instant.parse("2024-01-01T10:00:00Z");
+
+    /**
+     * Logs in by setting a session cookie numbered after the login, so tests can tell logins apart.
+     */
+    private static class CountingLogin implements LoginFlow {
+        private final AtomicInteger logins = new AtomicInteger();
+        private volatile boolean accepted = true;
+        private volatile long delayMillis;
+
+        @Override
+        public void login(WebDriver driver) {
+            int login = logins.incrementAndGet();
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            driver.manage().addCookie(new Cookie("session", "login-" + login));
+        }
+
+        @Override
+        public boolean isLoggedIn(WebDriver driver) {
+            return accepted;
+        }
+    }
+
+    private static AuthState state(Date... cookieExpiries) {
+        Set<Cookie> cookies = new HashSet<>();
+        for (int i = 0; i < cookieExpiries.length; i++) {
+            cookies.add(new Cookie("c" + i, "v", "/", cookieExpiries[i]));
+        }
+        return new AuthState(cookies, Map.of(), Map.of(), CAPTURED_AT);
+    }
+
+    private static String sessionCookie(WebDriver driver) {
+        Cookie cookie = driver.manage().getCookieNamed("session");
+        return cookie == null ? null : cookie.getValue();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void clearCache() {
+        AuthStateCache.clear();
+    }
+
+    @Test
+    public void stateExpiresOnlyAfterTheTtl() {
+        AuthState state = state();
+
+        Assert.assertFalse(state.isExpired(TTL, CAPTURED_AT));
+        Assert.assertFalse(state.isExpired(TTL, CAPTURED_AT.plus(TTL)));
+        Assert.assertTrue(state.isExpired(TTL, CAPTURED_AT.plus(TTL).plusMillis(1)));
+    }
+
+    @Test
+    public void stateExpiresWithItsFirstExpiredCookie() {
+        Instant now = CAPTURED_AT.plusSeconds(60);
+        Date later = Date.from(now.plusSeconds(60));
+
+        Assert.assertFalse(state((Date) null).isExpired(TTL, now), "session cookies never expire");
+        Assert.assertFalse(state(later, Date.from(now)).isExpired(TTL, now));
+        Assert.assertTrue(state(later, Date.from(now.minusMillis(1))).isExpired(TTL, now));
+    }
+
+    @Test
+    public void concurrentSessionsLogInOnce() throws Exception {
+        CountingLogin flow = new CountingLogin();
+        flow.delayMillis = 200;
+        AuthStateCache.register("concurrent", flow);
+
+        int sessions = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(sessions);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> cookies = new ArrayList<>();
+        try {
+            for (int i = 0; i < sessions; i++) {
+                cookies.add(executor.submit(() -> {
+                    WebDriver driver = new FakeWebDriver();
+                    start.await();
+                    AuthStateCache.authenticate(driver, "concurrent");
+                    return sessionCookie(driver);
+                }));
+            }
+            start.countDown();
+            for (Future<String> cookie : cookies) {
+                Assert.assertEquals(cookie.get(10, TimeUnit.SECONDS), "login-1");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(flow.logins.get(), 1);
+    }
+
+    @Test
+    public void cachedStateIsInjectedIntoNewSessions() {
+        CountingLogin flow = new CountingLogin();
+        AuthStateCache.register("reuse", flow);
+
+        WebDriver first = new FakeWebDriver();
+        WebDriver second = new FakeWebDriver();
+        AuthStateCache.authenticate(first, "reuse");
+        AuthStateCache.authenticate(second, "reuse");
+
+        Assert.assertEquals(flow.logins.get(), 1);
+        Assert.assertEquals(sessionCookie(second), "login-1");
+    }
+
+    @Test
+    public void invalidatedRoleLogsInAgain() {
+        CountingLogin flow = new CountingLogin();
+        AuthStateCache.register("invalidated", flow);
+        AuthStateCache.authenticate(new FakeWebDriver(), "invalidated");
+
+        AuthStateCache.invalidate("invalidated");
+        WebDriver driver = new FakeWebDriver();
+        AuthStateCache.authenticate(driver, "invalidated");
+
+        Assert.assertEquals(flow.logins.get(), 2);
+        Assert.assertEquals(sessionCookie(driver), "login-2");
+    }
+
+    @Test
+    public void rejectedStateIsRefreshed() {
+        CountingLogin flow = new CountingLogin();
+        AuthStateCache.register("rejected", flow);
+        AuthStateCache.authenticate(new FakeWebDriver(), "rejected");
+
+        flow.accepted = false;
+        WebDriver driver = new FakeWebDriver();
+        AuthStateCache.authenticate(driver, "rejected");
+        Assert.assertEquals(flow.logins.get(), 2);
+        Assert.assertEquals(sessionCookie(driver), "login-2", "the rejected cookies are cleared before logging in");
+
+        // The refreshed state replaced the rejected one
+        flow.accepted = true;
+        WebDriver next = new FakeWebDriver();
+        AuthStateCache.authenticate(next, "rejected");
+        Assert.assertEquals(flow.logins.get(), 2);
+        Assert.assertEquals(sessionCookie(next), "login-2");
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void unregisteredRoleIsRejected() {
+        AuthStateCache.authenticate(new FakeWebDriver(), "unregistered");
+    }
+}
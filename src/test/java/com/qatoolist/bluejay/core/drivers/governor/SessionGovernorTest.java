@@ -0,0 +1,71 @@
+package com.qatoolist.bluejay.core.drivers.governor;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Covers the limit decisions with the default thresholds: 512 MB per session, CPU load up to 0.9
+ * and file handle usage up to 0.85.
+ */
+public class SessionGovernorTest {
+
+    private static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private static HostSignals host(long availableMemoryMb, double cpuLoad, double fileHandleUsage) {
+        return new HostSignals(availableMemoryMb, cpuLoad, Math.round(fileHandleUsage * 1000), 1000);
+    }
+
+    @Test
+    public void shortHostLowersTheLimitByAQuarter() {
+        Assert.assertEquals(SessionGovernor.nextLimit(8, 1, UNBOUNDED, host(256, 0.1, 0.1), true), 6);
+        Assert.assertEquals(SessionGovernor.nextLimit(8, 1, UNBOUNDED, host(4096, 0.95, 0.1), false), 6);
+        Assert.assertEquals(SessionGovernor.nextLimit(8, 1, UNBOUNDED, host(4096, 0.1, 0.9), false), 6);
+        // At least one session less
+        Assert.assertEquals(SessionGovernor.nextLimit(3, 1, UNBOUNDED, host(256, 0.1, 0.1), false), 2);
+    }
+
+    @Test
+    public void limitGrowsOnlyWithThreadsWaitingAndMemoryForTwoSessions() {
+        Assert.assertEquals(SessionGovernor.nextLimit(4, 1, UNBOUNDED, host(1024, 0.1, 0.1), true), 5);
+        Assert.assertEquals(SessionGovernor.nextLimit(4, 1, UNBOUNDED, host(1023, 0.1, 0.1), true), 4);
+        Assert.assertEquals(SessionGovernor.nextLimit(4, 1, UNBOUNDED, host(4096, 0.1, 0.1), false), 4);
+        // Memory is unknown on this host
+        Assert.assertEquals(SessionGovernor.nextLimit(4, 1, UNBOUNDED, host(-1, 0.1, 0.1), true), 5);
+    }
+
+    @Test
+    public void limitStaysWithinItsBounds() {
+        Assert.assertEquals(SessionGovernor.nextLimit(8, 7, UNBOUNDED, host(256, 0.1, 0.1), false), 7);
+        Assert.assertEquals(SessionGovernor.nextLimit(2, 2, UNBOUNDED, host(256, 0.1, 0.1), false), 2);
+        Assert.assertEquals(SessionGovernor.nextLimit(4, 1, 4, host(4096, 0.1, 0.1), true), 4);
+    }
+
+    @Test
+    public void adjustEvaluatesTheGivenSignals() {
+        HostSignals signals = host(4096, 0.1, 0.1);
+        int limit = SessionGovernor.getLimit();
+
+        // No thread is waiting, so the limit stays
+        SessionGovernor.adjust(signals);
+        Assert.assertSame(SessionGovernor.getLastSignals(), signals);
+        Assert.assertEquals(SessionGovernor.getLimit(), limit);
+        Assert.assertEquals(SessionGovernor.getActiveSessions(), 0);
+    }
+
+    @Test
+    public void reducedPermitsAreNotReissuedUntilHoldersRelease() {
+        SessionGovernor.ResizableSemaphore permits = new SessionGovernor.ResizableSemaphore(2);
+        Assert.assertTrue(permits.tryAcquire());
+        Assert.assertTrue(permits.tryAcquire());
+
+        // Lowered to 1 while both sessions run
+        permits.reducePermits(1);
+        Assert.assertEquals(permits.availablePermits(), -1);
+
+        permits.release();
+        Assert.assertFalse(permits.tryAcquire(), "one session is still running");
+        permits.release();
+        Assert.assertTrue(permits.tryAcquire());
+        Assert.assertFalse(permits.tryAcquire());
+    }
+}
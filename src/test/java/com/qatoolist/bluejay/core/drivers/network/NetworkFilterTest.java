@@ -0,0 +1,127 @@
+package com.qatoolist.bluejay.core.drivers.network;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Runs NetworkFilter against a local HTTP server serving fixture pages; the filter's next handler
+ * stands in for the browser's network stack.
+ */
+public class NetworkFilterTest {
+
+    private final List<String> served = new CopyOnWriteArrayList<>();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private HttpServer server;
+    private String baseUrl;
+
+    @BeforeClass
+    public void startFixtureServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            served.add(exchange.getRequestURI().getPath());
+            byte[] body = ("<html><body>" + exchange.getRequestURI().getPath() + "</body></html>").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/html");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream stream = exchange.getResponseBody()) {
+                stream.write(body);
+            }
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopFixtureServer() {
+        server.stop(0);
+    }
+
+    @BeforeMethod
+    public void clearServed() {
+        served.clear();
+    }
+
+    private HttpResponse get(NetworkFilter filter, String path) {
+        HttpHandler network = request -> {
+            try {
+                java.net.http.HttpResponse<byte[]> response = client.send(
+                        java.net.http.HttpRequest.newBuilder(URI.create(request.getUri())).GET().build(),
+                        java.net.http.HttpResponse.BodyHandlers.ofByteArray());
+                return new HttpResponse().setStatus(response.statusCode()).setContent(Contents.bytes(response.body()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        };
+        return filter.apply(network).execute(new HttpRequest(HttpMethod.GET, baseUrl + path));
+    }
+
+    private static NetworkRules rules(List<String> blocked, List<String> allowed, NetworkRules.MockResponse... mocks) {
+        return new NetworkRules(blocked.stream().map(NetworkRules::glob).collect(Collectors.toList()),
+                allowed.stream().map(NetworkRules::glob).collect(Collectors.toList()), Arrays.asList(mocks));
+    }
+
+    @Test
+    public void unmatchedRequestsReachTheServer() {
+        NetworkStats stats = new NetworkStats();
+        HttpResponse response = get(new NetworkFilter(rules(Collections.singletonList("*/ads/*"), Collections.emptyList()), stats), "/index.html");
+
+        Assert.assertEquals(response.getStatus(), 200);
+        Assert.assertEquals(Contents.string(response), "<html><body>/index.html</body></html>");
+        Assert.assertEquals(served, Collections.singletonList("/index.html"));
+        Assert.assertEquals(stats.getServed(), 1L);
+        Assert.assertEquals(stats.getBlocked(), 0L);
+    }
+
+    @Test
+    public void blockedRequestsNeverReachTheServer() {
+        NetworkStats stats = new NetworkStats();
+        NetworkFilter filter = new NetworkFilter(rules(Arrays.asList("*/ads/*", "*.woff2"), Collections.singletonList("*/ads/allowed.js")), stats);
+
+        Assert.assertEquals(get(filter, "/ads/banner.js").getStatus(), 204);
+        Assert.assertEquals(get(filter, "/fonts/a.woff2").getStatus(), 204);
+        Assert.assertEquals(get(filter, "/ads/allowed.js").getStatus(), 200);
+
+        Assert.assertEquals(served, Collections.singletonList("/ads/allowed.js"));
+        Assert.assertEquals(stats.getBlocked(), 2L);
+        Assert.assertEquals(stats.getServed(), 1L);
+    }
+
+    @Test
+    public void mockedRequestsAreAnsweredLocally() {
+        NetworkStats stats = new NetworkStats();
+        NetworkRules.MockResponse mock = new NetworkRules.MockResponse(NetworkRules.glob("*/api/config"), 201,
+                "application/json", "{\"feature\":true}".getBytes(StandardCharsets.UTF_8));
+        HttpResponse response = get(new NetworkFilter(rules(Collections.singletonList("*/api/*"), Collections.emptyList(), mock), stats), "/api/config");
+
+        Assert.assertEquals(response.getStatus(), 201);
+        Assert.assertEquals(response.getHeader("Content-Type"), "application/json");
+        Assert.assertEquals(Contents.string(response), "{\"feature\":true}");
+        Assert.assertTrue(served.isEmpty());
+        Assert.assertEquals(stats.getMocked(), 1L);
+    }
+}
@@ -0,0 +1,60 @@
+package com.qatoolist.bluejay.core.drivers.network;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class NetworkRulesTest {
+
+    private static NetworkRules rules(List<String> blocked, List<String> allowed, NetworkRules.MockResponse... mocks) {
+        return new NetworkRules(blocked.stream().map(NetworkRules::glob).collect(java.util.stream.Collectors.toList()),
+                allowed.stream().map(NetworkRules::glob).collect(java.util.stream.Collectors.toList()),
+                Arrays.asList(mocks));
+    }
+
+    @Test
+    public void globMatchesTheFullUrl() {
+        Pattern pattern = NetworkRules.glob("*google-analytics.com*");
+        Assert.assertTrue(pattern.matcher("https://www.google-analytics.com/analytics.js").matches());
+        Assert.assertFalse(pattern.matcher("https://example.com/app.js").matches());
+
+        Assert.assertTrue(NetworkRules.glob("*.woff2").matcher("https://fonts.example.com/a.woff2").matches());
+        Assert.assertFalse(NetworkRules.glob("*.woff2").matcher("https://fonts.example.com/a.woff2?v=1").matches());
+    }
+
+    @Test
+    public void globQuotesRegexCharacters() {
+        Pattern pattern = NetworkRules.glob("https://cdn.example.com/lib+(1).js?v=?");
+        Assert.assertTrue(pattern.matcher("https://cdn.example.com/lib+(1).js?v=2").matches());
+        Assert.assertFalse(pattern.matcher("https://cdnXexample.com/lib+(1).js?v=2").matches());
+        Assert.assertFalse(pattern.matcher("https://cdn.example.com/lib+(1).js?v=22").matches());
+    }
+
+    @Test
+    public void allowPatternsOverrideBlockPatterns() {
+        NetworkRules rules = rules(Collections.singletonList("*.png"), Collections.singletonList("*/logo.png"));
+        Assert.assertTrue(rules.isBlocked("https://example.com/banner.png"));
+        Assert.assertFalse(rules.isBlocked("https://example.com/logo.png"));
+        Assert.assertFalse(rules.isBlocked("https://example.com/index.html"));
+    }
+
+    @Test
+    public void firstMatchingMockWins() {
+        NetworkRules.MockResponse ads = new NetworkRules.MockResponse(NetworkRules.glob("*ads.example.com*"), 200, "text/javascript",
+                "// ads".getBytes(StandardCharsets.UTF_8));
+        NetworkRules.MockResponse all = new NetworkRules.MockResponse(NetworkRules.glob("*example.com*"), 404, "text/plain",
+                new byte[0]);
+        NetworkRules rules = rules(Collections.emptyList(), Collections.emptyList(), ads, all);
+
+        Assert.assertEquals(rules.findMock("https://ads.example.com/tag.js"), ads);
+        Assert.assertEquals(rules.findMock("https://www.example.com/"), all);
+        Assert.assertNull(rules.findMock("https://other.org/"));
+        Assert.assertFalse(rules.isEmpty());
+        Assert.assertTrue(rules(Collections.emptyList(), Collections.singletonList("*")).isEmpty());
+    }
+}
@@ -0,0 +1,67 @@
+package com.qatoolist.bluejay.core.drivers.proxy;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+public class MatchRulesTest {
+
+    private static final byte[] NO_BODY = new byte[0];
+
+    private static MatchRules defaults() {
+        return new MatchRules(Collections.emptySet(), false, true, Collections.emptyList());
+    }
+
+    @Test
+    public void queryParametersMatchInAnyOrder() {
+        MatchRules rules = defaults();
+        String key = rules.key("get", URI.create("https://app.example/api/items?b=2&a=1"), Collections.emptyMap(), NO_BODY);
+        Assert.assertEquals(key, "GET https://app.example/api/items?a=1&b=2");
+        Assert.assertEquals(rules.key("GET", URI.create("https://app.example/api/items?a=1&b=2"), Collections.emptyMap(), NO_BODY), key);
+    }
+
+    @Test
+    public void ignoredParametersAndHostAreLeftOut() {
+        MatchRules rules = new MatchRules(new HashSet<>(Arrays.asList("_", "cacheBuster")), true, true, Collections.emptyList());
+        Assert.assertEquals(rules.key("GET", URI.create("https://dev.example/api?_=123&id=7&cacheBuster"), Collections.emptyMap(), NO_BODY),
+                "GET /api?id=7");
+        Assert.assertEquals(rules.key("GET", URI.create("https://qa.example"), Collections.emptyMap(), NO_BODY), "GET /");
+    }
+
+    @Test
+    public void bodiesAreMatchedByDigest() {
+        URI uri = URI.create("https://app.example/api/login");
+        byte[] body = "{\"user\":\"a\"}".getBytes(StandardCharsets.UTF_8);
+        String key = defaults().key("POST", uri, Collections.emptyMap(), body);
+        Assert.assertTrue(key.startsWith("POST https://app.example/api/login body="), key);
+        Assert.assertNotEquals(defaults().key("POST", uri, Collections.emptyMap(), "{\"user\":\"b\"}".getBytes(StandardCharsets.UTF_8)), key);
+
+        MatchRules ignoreBody = new MatchRules(Collections.emptySet(), false, false, Collections.emptyList());
+        Assert.assertEquals(ignoreBody.key("POST", uri, Collections.emptyMap(), body), "POST https://app.example/api/login");
+    }
+
+    @Test
+    public void configuredHeadersAreAddedToTheKey() {
+        MatchRules rules = new MatchRules(Collections.emptySet(), false, true, Arrays.asList("accept", "x-tenant"));
+        Map<String, String> headers = new HashMap<>();
+        headers.put("accept", "application/json");
+        headers.put("user-agent", "test");
+        Assert.assertEquals(rules.key("GET", URI.create("http://app.example/a"), headers, NO_BODY),
+                "GET http://app.example/a accept=application/json x-tenant=");
+    }
+
+    @Test
+    public void keysStayOnOneLine() {
+        Map<String, String> headers = Collections.singletonMap("x-tenant", "a\tb\nc");
+        MatchRules rules = new MatchRules(Collections.emptySet(), false, true, Collections.singletonList("x-tenant"));
+        String key = rules.key("GET", URI.create("http://app.example/a"), headers, NO_BODY);
+        Assert.assertFalse(key.contains("\t") || key.contains("\n"), key);
+    }
+}
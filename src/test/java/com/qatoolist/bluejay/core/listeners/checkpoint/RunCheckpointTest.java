@@ -0,0 +1,76 @@
+package com.qatoolist.bluejay.core.listeners.checkpoint;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+
+public class RunCheckpointTest {
+
+    @Test
+    public void escapedRowsRoundTrip() {
+        String row = "[a\tb, line1\nline2\r, C:\\temp\\new]";
+        String escaped = RunCheckpoint.escape(row);
+        Assert.assertFalse(escaped.contains("\t") || escaped.contains("\n") || escaped.contains("\r"), escaped);
+        Assert.assertEquals(RunCheckpoint.unescape(escaped), row);
+    }
+
+    @Test
+    public void loadKeepsLastStatusAndIgnoresTruncatedLines() throws IOException {
+        Path directory = Files.createTempDirectory("checkpoints");
+        Files.write(directory.resolve("run1-shard-0.checkpoint"), ("1\tFAIL\ta.A#one\t\n"
+                + "2\tPASS\ta.A#two\t" + RunCheckpoint.escape("[x\ty]") + "\n"
+                + "3\tPASS\ta.A#one\t\n"
+                + "4\tPASS\ta.A#thr").getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("run1-shard-1.checkpoint"), ("5\tPASS\ta.B#one\t\n"
+                + "oops\tPASS\ta.B#two\t\n").getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("run2.checkpoint"), "6\tPASS\ta.C#one\t\n".getBytes(StandardCharsets.UTF_8));
+
+        Map<String, RunCheckpoint.Entry> entries = RunCheckpoint.load(directory, "run1");
+
+        Assert.assertEquals(entries.size(), 3);
+        RunCheckpoint.Entry one = entries.get("a.A#one\t");
+        Assert.assertEquals(one.getStatus(), RunCheckpoint.PASS);
+        Assert.assertEquals(one.getTime(), 3L);
+        Assert.assertEquals(entries.get("a.A#two\t[x\ty]").getRow(), "[x\ty]");
+        Assert.assertTrue(entries.containsKey("a.B#one\t"));
+        Assert.assertFalse(entries.containsKey("a.C#one\t"));
+    }
+
+    @Test
+    public void loadOfMissingDirectoryIsEmpty() {
+        Assert.assertTrue(RunCheckpoint.load(Path.of("does-not-exist"), "run1").isEmpty());
+    }
+
+    @Test
+    public void pruneKeepsTheMostRecentRuns() throws IOException {
+        Path directory = Files.createTempDirectory("checkpoints");
+        // A run was last written when its most recent shard was
+        String[] files = {"run1-shard-0", "run1-shard-1", "run2-shard-0", "run2-shard-1", "run3", "current"};
+        long[] secondsAgo = {3, 1, 2, 4, 5, 9};
+        for (int i = 0; i < files.length; i++) {
+            Path file = Files.write(directory.resolve(files[i] + ".checkpoint"), new byte[0]);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(1_000_000 - secondsAgo[i] * 1000));
+        }
+
+        RunCheckpoint.prune(directory, "current", 3);
+        Assert.assertTrue(Files.exists(directory.resolve("run1-shard-0.checkpoint")));
+        Assert.assertTrue(Files.exists(directory.resolve("run2-shard-1.checkpoint")));
+        Assert.assertFalse(Files.exists(directory.resolve("run3.checkpoint")));
+
+        RunCheckpoint.prune(directory, "current", 2);
+        Assert.assertTrue(Files.exists(directory.resolve("run1-shard-0.checkpoint")));
+        Assert.assertFalse(Files.exists(directory.resolve("run2-shard-0.checkpoint")));
+        Assert.assertFalse(Files.exists(directory.resolve("run2-shard-1.checkpoint")));
+
+        // The current run is kept even when it is the oldest
+        RunCheckpoint.prune(directory, "current", 1);
+        Assert.assertFalse(Files.exists(directory.resolve("run1-shard-1.checkpoint")));
+        Assert.assertTrue(Files.exists(directory.resolve("current.checkpoint")));
+    }
+}
@@ -0,0 +1,99 @@
+package com.qatoolist.bluejay.core.listeners.health;
+
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+
+/**
+ * Windows are created by each test, so the breaker's own window - fed by the listener when
+ * browser tests run in the same JVM - is left alone.
+ */
+public class EnvironmentCircuitBreakerTest {
+
+    private static OutcomeWindow window() {
+        return new OutcomeWindow(20, 5, 0.5);
+    }
+
+    @Test
+    public void connectionErrorsAreEnvironmentFailures() {
+        Assert.assertTrue(EnvironmentCircuitBreaker.isEnvironmentFailure(new ConnectException("Connection refused")));
+        Assert.assertTrue(EnvironmentCircuitBreaker.isEnvironmentFailure(
+                new RuntimeException("setup failed", new UnknownHostException("app.example"))));
+        Assert.assertTrue(EnvironmentCircuitBreaker.isEnvironmentFailure(
+                new WebDriverException("unknown error: net::ERR_CONNECTION_REFUSED")));
+    }
+
+    @Test
+    public void applicationFailuresAreNotEnvironmentFailures() {
+        Assert.assertFalse(EnvironmentCircuitBreaker.isEnvironmentFailure(new AssertionError("expected [Welcome]")));
+        Assert.assertFalse(EnvironmentCircuitBreaker.isEnvironmentFailure(new WebDriverException("no such element")));
+        Assert.assertFalse(EnvironmentCircuitBreaker.isEnvironmentFailure(new TimeoutException("Expected condition failed")));
+    }
+
+    @Test
+    public void windowNeedsMinimumCallsBeforeOpening() {
+        OutcomeWindow window = window();
+        for (int i = 0; i < 4; i++) {
+            Assert.assertFalse(window.record(true), "after " + (i + 1) + " failures");
+        }
+        Assert.assertTrue(window.record(true));
+    }
+
+    @Test
+    public void windowOpensAtFailureRate() {
+        OutcomeWindow window = window();
+        for (int i = 0; i < 20; i++) {
+            window.record(false);
+        }
+        for (int i = 0; i < 9; i++) {
+            Assert.assertFalse(window.record(true), "after " + (i + 1) + " failures");
+        }
+        // 10 of the last 20 outcomes
+        Assert.assertTrue(window.record(true));
+        Assert.assertEquals(window.getFailures(), 10);
+        Assert.assertEquals(window.getCount(), 20);
+    }
+
+    @Test
+    public void failuresSlideOutOfTheWindow() {
+        OutcomeWindow window = window();
+        for (int i = 0; i < 9; i++) {
+            window.record(true);
+        }
+        for (int i = 0; i < 20; i++) {
+            window.record(false);
+        }
+        Assert.assertFalse(window.record(true));
+        Assert.assertEquals(window.getFailures(), 1);
+    }
+
+    @Test
+    public void clearedWindowNeedsMinimumCallsAgain() {
+        OutcomeWindow window = window();
+        for (int i = 0; i < 5; i++) {
+            window.record(true);
+        }
+        window.clear();
+        Assert.assertFalse(window.record(true));
+        Assert.assertEquals(window.getCount(), 1);
+    }
+
+    @Test
+    public void failureRateIsParsed() {
+        Assert.assertEquals(EnvironmentCircuitBreaker.parseFailureRate("0.25"), 0.25, 0.0);
+        Assert.assertEquals(EnvironmentCircuitBreaker.parseFailureRate(" 1 "), 1.0, 0.0);
+        Assert.assertEquals(EnvironmentCircuitBreaker.parseFailureRate(null), 0.5, 0.0);
+    }
+
+    @Test
+    public void invalidFailureRateFallsBackToDefault() {
+        Assert.assertEquals(EnvironmentCircuitBreaker.parseFailureRate("50%"), 0.5, 0.0);
+        Assert.assertEquals(EnvironmentCircuitBreaker.parseFailureRate("0"), 0.5, 0.0);
+        Assert.assertEquals(EnvironmentCircuitBreaker.parseFailureRate("1.5"), 0.5, 0.0);
+        Assert.assertEquals(EnvironmentCircuitBreaker.parseFailureRate("NaN"), 0.5, 0.0);
+    }
+}
@@ -0,0 +1,78 @@
+package com.qatoolist.bluejay.core.listeners.impact;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+public class ChangeSetTest {
+
+    private static final String SOURCES = "src/test/java/com/qatoolist/bluejay/core/listeners/impact/";
+
+    @Test
+    public void changedKeysReadsAddedAndRemovedLines() {
+        Assert.assertEquals(ChangeSet.changedKeys(Arrays.asList(
+                "--- a/src/test/resources/config/qa.properties",
+                "+++ b/src/test/resources/config/qa.properties",
+                "@@ -1,2 +1,2 @@",
+                "-app.base_url=https://old.example.com",
+                "+app.base_url=https://new.example.com",
+                "+browser.headless: true",
+                "+timeout 30",
+                " unchanged.key=value")),
+                new HashSet<>(Arrays.asList("app.base_url", "browser.headless", "timeout")));
+    }
+
+    @Test
+    public void changedKeysIgnoresCommentsAndBlankLines() {
+        Assert.assertEquals(ChangeSet.changedKeys(Arrays.asList("+# comment", "-! comment", "+", "-   ")),
+                Collections.emptySet());
+    }
+
+    @Test
+    public void changedKeysTrimsKeys() {
+        Assert.assertEquals(ChangeSet.changedKeys(Collections.singletonList("+   user.name   =  admin")),
+                Collections.singleton("user.name"));
+    }
+
+    @Test
+    public void changedSuperclassAffectsItsTests() {
+        ChangeSet changes = ChangeSet.of(Collections.singletonList(SOURCES + "SharedTestSteps.java"));
+        Set<String> noUsages = Collections.emptySet();
+        Assert.assertTrue(changes.affects(InheritingTest.class, noUsages));
+        Assert.assertFalse(changes.affects(ChangeSetTest.class, noUsages));
+    }
+
+    @Test
+    public void changedSharedTestCodeRequiresFullRun() {
+        ImpactMap map = new ImpactMap();
+        map.put(ImpactMap.testId(ChangeSetTest.class, "changedKeysTrimsKeys"), Collections.emptySet());
+
+        Assert.assertTrue(ChangeSet.of(Collections.singletonList(SOURCES + "SharedTestSteps.java")).requiresFullRun(map));
+        Assert.assertFalse(ChangeSet.of(Collections.singletonList(SOURCES + "ChangeSetTest.java")).requiresFullRun(map));
+        // Deleted test sources cannot be used by the remaining tests
+        Assert.assertFalse(ChangeSet.of(Collections.singletonList(SOURCES + "RemovedTest.java")).requiresFullRun(map));
+    }
+
+    @Test
+    public void recordedPageUnderTestSourcesAffectsOnlyItsTests() {
+        ImpactMap map = new ImpactMap();
+        map.put(ImpactMap.testId(ChangeSetTest.class, "changedKeysTrimsKeys"),
+                Collections.singleton(ImpactMap.PAGE_PREFIX + SharedTestSteps.class.getName()));
+        ChangeSet changes = ChangeSet.of(Collections.singletonList(SOURCES + "SharedTestSteps.java"));
+
+        Assert.assertFalse(changes.requiresFullRun(map));
+        Assert.assertTrue(changes.affects(ChangeSetTest.class, map.getUsages(ImpactMap.testId(ChangeSetTest.class, "changedKeysTrimsKeys"))));
+    }
+
+    static class InheritingTest extends SharedTestSteps {
+
+        @Test
+        public void greets() {
+            Assert.assertEquals(greeting(), "hello");
+        }
+    }
+}
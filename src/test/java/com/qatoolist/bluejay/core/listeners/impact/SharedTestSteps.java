@@ -0,0 +1,11 @@
+package com.qatoolist.bluejay.core.listeners.impact;
+
+/**
+ * Shared test code for ChangeSetTest: a superclass of tests that holds no tests itself.
+ */
+public class SharedTestSteps {
+
+    protected String greeting() {
+        return "hello";
+    }
+}
@@ -0,0 +1,59 @@
+package com.qatoolist.bluejay.core.listeners.index;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+public class TagExpressionTest {
+
+    private static Set<String> tags(String... tags) {
+        return new HashSet<>(Arrays.asList(tags));
+    }
+
+    @Test
+    public void emptyExpressionMatchesEverything() {
+        Assert.assertTrue(TagExpression.compile("").matches(Collections.emptySet()));
+        Assert.assertTrue(TagExpression.compile(null).matches(tags("smoke")));
+        Assert.assertTrue(TagExpression.compile("   ").matches(tags("slow")));
+    }
+
+    @Test
+    public void singleTag() {
+        TagExpression expression = TagExpression.compile("smoke");
+        Assert.assertTrue(expression.matches(tags("smoke", "slow")));
+        Assert.assertFalse(expression.matches(tags("regression")));
+    }
+
+    @Test
+    public void andBindsTighterThanOr() {
+        TagExpression expression = TagExpression.compile("checkout | payments & !flaky");
+        Assert.assertTrue(expression.matches(tags("checkout", "flaky")));
+        Assert.assertTrue(expression.matches(tags("payments")));
+        Assert.assertFalse(expression.matches(tags("payments", "flaky")));
+    }
+
+    @Test
+    public void parenthesesAndNegation() {
+        TagExpression expression = TagExpression.compile("(checkout | payments) & !flaky");
+        Assert.assertTrue(expression.matches(tags("checkout")));
+        Assert.assertFalse(expression.matches(tags("checkout", "flaky")));
+        Assert.assertFalse(expression.matches(tags("search")));
+        Assert.assertTrue(TagExpression.compile("!!smoke").matches(tags("smoke")));
+    }
+
+    @Test
+    public void tagNamesMayContainPunctuation() {
+        Assert.assertTrue(TagExpression.compile("team:checkout & api-v2.beta").matches(tags("team:checkout", "api-v2.beta")));
+    }
+
+    @Test
+    public void malformedExpressionsAreRejected() {
+        for (String expression : Arrays.asList("smoke &", "(smoke", "smoke)", "& smoke", "smoke slow", "smoke # slow")) {
+            Assert.assertThrows(IllegalArgumentException.class, () -> TagExpression.compile(expression));
+        }
+    }
+}
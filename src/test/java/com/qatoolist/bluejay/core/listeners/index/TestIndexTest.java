@@ -0,0 +1,32 @@
+package com.qatoolist.bluejay.core.listeners.index;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class TestIndexTest {
+
+    @SuppressWarnings("unused")
+    static class Overloads {
+        public void login() {
+        }
+
+        public void login(String user, int attempts) {
+        }
+
+        public void login(String[] users, List<String> roles, Map.Entry<String, String> entry) {
+        }
+    }
+
+    @Test
+    public void keyIncludesParameterTypes() throws NoSuchMethodException {
+        Assert.assertEquals(TestIndex.key(Overloads.class.getMethod("login")),
+                Overloads.class.getName() + "#login()");
+        Assert.assertEquals(TestIndex.key(Overloads.class.getMethod("login", String.class, int.class)),
+                Overloads.class.getName() + "#login(java.lang.String,int)");
+        Assert.assertEquals(TestIndex.key(Overloads.class.getMethod("login", String[].class, List.class, Map.Entry.class)),
+                Overloads.class.getName() + "#login(java.lang.String[],java.util.List,java.util.Map$Entry)");
+    }
+}
@@ -0,0 +1,61 @@
+package com.qatoolist.bluejay.core.listeners.shard;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ShardSelectorTest {
+
+    private static final List<String> TESTS = Arrays.asList("a.A#one", "a.A#two", "a.B#three", "a.B#four", "a.C#five");
+
+    @Test
+    public void hashShardIsStableAndInRange() {
+        for (String testId : TESTS) {
+            int shard = ShardSelector.hashShard(testId, 3);
+            Assert.assertTrue(shard >= 0 && shard < 3, testId + " -> " + shard);
+            Assert.assertEquals(ShardSelector.hashShard(testId, 3), shard);
+        }
+    }
+
+    @Test
+    public void durationPlanBalancesLongestTestsFirst() {
+        Map<String, Long> known = new HashMap<>();
+        known.put("a.A#one", 100L);
+        known.put("a.A#two", 60L);
+        known.put("a.B#three", 50L);
+        known.put("a.B#four", 40L);
+        known.put("a.C#five", 10L);
+
+        Map<String, Integer> plan = ShardSelector.assignByDuration(TESTS, known, 2);
+
+        Assert.assertEquals(plan.size(), TESTS.size());
+        Assert.assertEquals(plan.get("a.A#one"), Integer.valueOf(0));
+        Assert.assertEquals(plan.get("a.A#two"), Integer.valueOf(1));
+        Assert.assertEquals(plan.get("a.B#three"), Integer.valueOf(1));
+        Assert.assertEquals(plan.get("a.B#four"), Integer.valueOf(0));
+        Assert.assertEquals(plan.get("a.C#five"), Integer.valueOf(1));
+    }
+
+    @Test
+    public void durationPlanDoesNotDependOnMethodOrder() {
+        Map<String, Long> known = Collections.singletonMap("a.B#three", 500L);
+        List<String> reversed = new ArrayList<>(TESTS);
+        Collections.reverse(reversed);
+
+        Assert.assertEquals(ShardSelector.assignByDuration(reversed, known, 3), ShardSelector.assignByDuration(TESTS, known, 3));
+    }
+
+    @Test
+    public void unknownTestsAreWeightedWithTheAverage() {
+        Map<String, Integer> plan = ShardSelector.assignByDuration(TESTS, Collections.emptyMap(), 5);
+
+        // Equal weights: each test gets a shard of its own
+        Assert.assertEquals(new ArrayList<>(plan.values()).stream().distinct().count(), 5L);
+    }
+}
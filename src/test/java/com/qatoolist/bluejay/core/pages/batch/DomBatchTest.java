@@ -0,0 +1,146 @@
+package com.qatoolist.bluejay.core.pages.batch;
+
+import com.qatoolist.bluejay.core.drivers.fake.FakeWebDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DomBatchTest {
+
+    /**
+     * A fake driver answering the batch script with a fixed response and keeping its arguments.
+     */
+    private static class ScriptedDriver extends FakeWebDriver {
+        private final Map<String, Object> response;
+        private Object[] arguments;
+
+        private ScriptedDriver(Map<String, Object> response) {
+            this.response = response;
+        }
+
+        @Override
+        public Object executeScript(String script, Object... args) {
+            arguments = args;
+            return response;
+        }
+    }
+
+    /**
+     * A locator the script cannot resolve, like ByChained.
+     */
+    private static class CustomBy extends By {
+        @Override
+        public List<WebElement> findElements(SearchContext context) {
+            return context.findElements(By.tagName("li"));
+        }
+    }
+
+    private static Map<String, Object> response(List<Object> missing, Map<String, Object> results) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("missing", missing);
+        response.put("results", results);
+        return response;
+    }
+
+    private static Map<String, Object> element(Object... keysAndValues) {
+        Map<String, Object> values = new HashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            values.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return values;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void specDescribesReadsAndFills() {
+        Map<String, Object> results = new HashMap<>();
+        results.put("rows", Collections.emptyList());
+        results.put("items", Collections.emptyList());
+        ScriptedDriver driver = new ScriptedDriver(response(Collections.emptyList(), results));
+
+        new DomBatch(driver)
+                .read("rows", By.cssSelector("#orders tr"), DomBatch.TEXT, DomBatch.attribute("data-id"))
+                .read("items", new CustomBy(), DomBatch.VISIBLE)
+                .fill(By.xpath("//input[@name='q']"), "shoes")
+                .execute();
+
+        Map<String, Object> spec = (Map<String, Object>) driver.arguments[0];
+        List<Map<String, Object>> reads = (List<Map<String, Object>>) spec.get("reads");
+        Assert.assertEquals(reads.size(), 2);
+        Assert.assertEquals(reads.get(0).get("key"), "rows");
+        Assert.assertEquals(reads.get(0).get("properties"), Arrays.asList("text", "attr:data-id"));
+        Map<String, Object> rowsQuery = (Map<String, Object>) reads.get(0).get("query");
+        Assert.assertEquals(rowsQuery.get("using"), "css selector");
+        Assert.assertEquals(rowsQuery.get("value"), "#orders tr");
+
+        // Resolved before the script and passed by index
+        Map<String, Object> itemsQuery = (Map<String, Object>) reads.get(1).get("query");
+        Assert.assertEquals(itemsQuery.get("elements"), 0);
+        List<List<WebElement>> located = (List<List<WebElement>>) driver.arguments[1];
+        Assert.assertEquals(located.size(), 1);
+        Assert.assertEquals(located.get(0).size(), 1);
+
+        List<Map<String, Object>> fills = (List<Map<String, Object>>) spec.get("fills");
+        Assert.assertEquals(fills.size(), 1);
+        Assert.assertEquals(fills.get(0).get("value"), "shoes");
+        Assert.assertEquals(((Map<String, Object>) fills.get(0).get("query")).get("using"), "xpath");
+    }
+
+    @Test
+    public void resultsAreDecodedPerKey() {
+        Map<String, Object> results = new HashMap<>();
+        results.put("rows", Arrays.asList(
+                element("text", "First", "attr:data-id", "1"),
+                element("text", "Second", "attr:data-id", "2")));
+        results.put("total", Collections.singletonList(element("text", "42", "visible", true)));
+        ScriptedDriver driver = new ScriptedDriver(response(Collections.emptyList(), results));
+
+        BatchResult result = new DomBatch(driver)
+                .read("rows", By.cssSelector("#orders tr"), DomBatch.TEXT, DomBatch.attribute("data-id"))
+                .read("total", By.id("total"), DomBatch.TEXT, DomBatch.VISIBLE)
+                .execute();
+
+        Assert.assertEquals(result.texts("rows"), Arrays.asList("First", "Second"));
+        Assert.assertEquals(result.get("rows").get(1).getAttribute("data-id"), "2");
+        Assert.assertEquals(result.first("total").getText(), "42");
+        Assert.assertTrue(result.first("total").isVisible());
+    }
+
+    @Test
+    public void missingFillTargetFailsTheBatch() {
+        ScriptedDriver driver = new ScriptedDriver(response(Collections.singletonList(1L), Collections.emptyMap()));
+        DomBatch batch = new DomBatch(driver)
+                .fill(By.id("user"), "admin")
+                .fill(By.id("missing"), "secret");
+
+        NoSuchElementException error = Assert.expectThrows(NoSuchElementException.class, batch::execute);
+        Assert.assertTrue(error.getMessage().contains(By.id("missing").toString()), error.getMessage());
+        Assert.assertFalse(error.getMessage().contains(By.id("user").toString()), error.getMessage());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void duplicateReadKeysAreRejected() {
+        new DomBatch(new FakeWebDriver())
+                .read("rows", By.cssSelector("#orders tr"), DomBatch.TEXT)
+                .read("rows", By.cssSelector("#invoices tr"), DomBatch.TEXT);
+    }
+
+    @Test
+    public void fakeDriverReturnsEmptyReads() {
+        BatchResult result = new DomBatch(new FakeWebDriver())
+                .read("rows", By.cssSelector("#orders tr"), DomBatch.TEXT)
+                .fill(By.name("q"), "shoes")
+                .execute();
+
+        Assert.assertTrue(result.get("rows").isEmpty());
+    }
+}
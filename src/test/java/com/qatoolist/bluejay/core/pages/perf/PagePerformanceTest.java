@@ -0,0 +1,50 @@
+package com.qatoolist.bluejay.core.pages.perf;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class PagePerformanceTest {
+
+    private static final List<Double> SORTED = Arrays.asList(10.0, 20.0, 30.0, 40.0, 50.0, 60.0, 70.0, 80.0, 90.0, 100.0);
+
+    @Test
+    public void percentileUsesNearestRank() {
+        Assert.assertEquals(PagePerformance.percentile(SORTED, 50), 50.0, 0.0);
+        Assert.assertEquals(PagePerformance.percentile(SORTED, 90), 90.0, 0.0);
+        Assert.assertEquals(PagePerformance.percentile(SORTED, 95), 100.0, 0.0);
+        Assert.assertEquals(PagePerformance.percentile(SORTED, 100), 100.0, 0.0);
+        Assert.assertEquals(PagePerformance.percentile(SORTED, 1), 10.0, 0.0);
+    }
+
+    @Test
+    public void percentileOfSingleSampleIsTheSample() {
+        Assert.assertEquals(PagePerformance.percentile(Collections.singletonList(42.0), 50), 42.0, 0.0);
+        Assert.assertEquals(PagePerformance.percentile(Collections.singletonList(42.0), 99), 42.0, 0.0);
+    }
+
+    @Test
+    public void percentilesAreParsed() {
+        Assert.assertTrue(Arrays.equals(PagePerformance.parsePercentiles(" 50, 75 ,99,"), new int[]{50, 75, 99}));
+        Assert.assertTrue(Arrays.equals(PagePerformance.parsePercentiles(null), new int[]{50, 90}));
+    }
+
+    @Test
+    public void invalidPercentilesFallBackToDefaults() {
+        Assert.assertTrue(Arrays.equals(PagePerformance.parsePercentiles("p90"), new int[]{50, 90}));
+        Assert.assertTrue(Arrays.equals(PagePerformance.parsePercentiles("50,150"), new int[]{50, 90}));
+        Assert.assertTrue(Arrays.equals(PagePerformance.parsePercentiles(" , "), new int[]{50, 90}));
+    }
+
+    @Test
+    public void invalidTolerancesFallBackToDefaults() {
+        Assert.assertEquals(PagePerformance.parseTolerance("perf.tolerance", "0.5", 0.2), 0.5, 0.0);
+        Assert.assertEquals(PagePerformance.parseTolerance("perf.tolerance", null, 0.2), 0.2, 0.0);
+        Assert.assertEquals(PagePerformance.parseTolerance("perf.tolerance", "20%", 0.2), 0.2, 0.0);
+        Assert.assertEquals(PagePerformance.parseTolerance("perf.tolerance", "-1", 0.2), 0.2, 0.0);
+        Assert.assertEquals(PagePerformance.parseTolerance("perf.tolerance.ms", "NaN", 50), 50.0, 0.0);
+    }
+}
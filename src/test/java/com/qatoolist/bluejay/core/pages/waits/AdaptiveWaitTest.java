@@ -0,0 +1,23 @@
+package com.qatoolist.bluejay.core.pages.waits;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class AdaptiveWaitTest {
+
+    @Test
+    public void multiplierIsParsed() {
+        Assert.assertEquals(AdaptiveWait.parseMultiplier("2"), 2.0, 0.0);
+        Assert.assertEquals(AdaptiveWait.parseMultiplier(" 1.25 "), 1.25, 0.0);
+        Assert.assertEquals(AdaptiveWait.parseMultiplier(null), 1.5, 0.0);
+    }
+
+    @Test
+    public void invalidMultiplierFallsBackToDefault() {
+        Assert.assertEquals(AdaptiveWait.parseMultiplier("fast"), 1.5, 0.0);
+        Assert.assertEquals(AdaptiveWait.parseMultiplier("1"), 1.5, 0.0);
+        Assert.assertEquals(AdaptiveWait.parseMultiplier("0.5"), 1.5, 0.0);
+        Assert.assertEquals(AdaptiveWait.parseMultiplier("NaN"), 1.5, 0.0);
+        Assert.assertEquals(AdaptiveWait.parseMultiplier("Infinity"), 1.5, 0.0);
+    }
+}